@@ -1,15 +1,19 @@
 package com.example.core.advice;
 
 import com.example.core.common.constants.CoreErrorCodes;
-import com.example.core.common.constants.RequestHeader;
+import com.example.core.common.constants.ErrorCatalog;
+import com.example.core.common.constants.ErrorCode;
 import com.example.core.common.exceptions.ApplicationException;
+import com.example.core.common.exceptions.ExceptionRuntimeContext;
 import com.example.core.common.exceptions.ResourceNotFoundException;
+import com.example.core.common.filters.RequestIdFilter;
 import com.example.core.common.models.ApiErrorResponse;
 import com.example.core.common.models.RequestId;
+import com.example.core.utils.LogRateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpStatus;
@@ -34,23 +38,34 @@ import org.springframework.web.multipart.support.MissingServletRequestPartExcept
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+@Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+  private final ErrorCatalog errorCatalog;
+  // Lỗi 4xx có thể xảy ra hàng nghìn lần/giây -> giới hạn số dòng log
+  private final LogRateLimiter clientErrorLog =
+      new LogRateLimiter(ExceptionRuntimeContext::getLogPerSecond);
+
   public RequestId requestUID(HttpServletRequest request) {
-    String headerRequestId = request.getHeader(RequestHeader.REQUEST_ID.getValue());
-    return Objects.nonNull(headerRequestId)
-        ? new RequestId(headerRequestId)
-        : new RequestId(UUID.randomUUID().toString());
+    return RequestIdFilter.requestId(request);
   }
 
   @ExceptionHandler(ApplicationException.class)
   public ResponseEntity<ApiErrorResponse> handleApplicationException(
       final ApplicationException exception, final HttpServletRequest request) {
+    ErrorCode errorCode = errorCode(exception.getErrorCode());
+    String message = message(errorCode, exception.getMessage(), request);
+    if (exception.getHttpStatus() != null && exception.getHttpStatus().is4xxClientError()) {
+      logClientError(request, errorCode.getCode(), message);
+    } else {
+      log.error("{} {} failed", request.getMethod(), request.getRequestURI(), exception);
+    }
     ApiErrorResponse response =
         new ApiErrorResponse(
             this.requestUID(request).value(),
-            exception.getErrorCode().toString(),
-            exception.getMessage(),
+            errorCode.getCode(),
+            message,
             request.getRequestURI(),
             request.getMethod(),
             LocalDateTime.now());
@@ -90,6 +105,7 @@ public class GlobalExceptionHandler {
       final BindException exception, final HttpServletRequest request) {
     FieldError fieldError =
         exception.getFieldErrors().stream().findFirst().orElse(new FieldError("", "", ""));
+    logClientError(request, CoreErrorCodes.BAD_REQUEST.getCode(), fieldError.getDefaultMessage());
     ApiErrorResponse response =
         new ApiErrorResponse(
             this.requestUID(request).value(),
@@ -118,6 +134,7 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ApiErrorResponse> handleException(
       final Exception exception, final HttpServletRequest request) {
+    log.error("{} {} failed", request.getMethod(), request.getRequestURI(), exception);
     ApiErrorResponse response =
         new ApiErrorResponse(
             this.requestUID(request).value(),
@@ -128,4 +145,34 @@ public class GlobalExceptionHandler {
             LocalDateTime.now());
     return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
   }
+
+  /** The registered error code with the same code, so app enums win over ad-hoc instances. */
+  private ErrorCode errorCode(ErrorCode errorCode) {
+    if (errorCode == null) {
+      return CoreErrorCodes.SYSTEM_ERROR;
+    }
+    ErrorCode registered = errorCatalog.find(errorCode.getCode());
+    return registered != null ? registered : errorCode;
+  }
+
+  /** Explicit message of the exception, otherwise the catalog message for the request locale. */
+  private String message(ErrorCode errorCode, String message, HttpServletRequest request) {
+    if (message == null || message.isBlank() || message.equals(errorCode.getMessage())) {
+      return errorCatalog.message(errorCode, request.getLocale());
+    }
+    return message;
+  }
+
+  private void logClientError(HttpServletRequest request, String code, String message) {
+    if (log.isWarnEnabled() && clientErrorLog.tryAcquire()) {
+      long suppressed = clientErrorLog.drainSuppressed();
+      log.warn(
+          "{} {} -> {} {}{}",
+          request.getMethod(),
+          request.getRequestURI(),
+          code,
+          message,
+          suppressed > 0 ? " (" + suppressed + " similar logs suppressed)" : "");
+    }
+  }
 }
@@ -1,9 +1,87 @@
 package com.example.core.cache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 public interface IJwtCache {
   void put(String token, Object value, long ttlSeconds);
 
   Object get(String token);
 
   void remove(String token);
+
+  /** Returns the cached value if it is an instance of {@code type}, otherwise {@code null}. */
+  default <T> T get(String token, Class<T> type) {
+    Object value = get(token);
+    return type.isInstance(value) ? type.cast(value) : null;
+  }
+
+  /** Returns the cached values for the given tokens; tokens that are not cached are omitted. */
+  default Map<String, Object> getAll(Collection<String> tokens) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    for (String token : tokens) {
+      Object value = get(token);
+      if (value != null) {
+        result.put(token, value);
+      }
+    }
+    return result;
+  }
+
+  default <T> Map<String, T> getAll(Collection<String> tokens, Class<T> type) {
+    Map<String, T> result = new LinkedHashMap<>();
+    getAll(tokens)
+        .forEach(
+            (token, value) -> {
+              if (type.isInstance(value)) {
+                result.put(token, type.cast(value));
+              }
+            });
+    return result;
+  }
+
+  default void putAll(Map<String, ?> values, long ttlSeconds) {
+    values.forEach((token, value) -> put(token, value, ttlSeconds));
+  }
+
+  default void removeAll(Collection<String> tokens) {
+    tokens.forEach(this::remove);
+  }
+
+  // Implementation mặc định chạy đồng bộ trên thread gọi; cache remote nên override.
+
+  default CompletableFuture<Object> getAsync(String token) {
+    return completed(() -> get(token));
+  }
+
+  default CompletableFuture<Map<String, Object>> getAllAsync(Collection<String> tokens) {
+    return completed(() -> getAll(tokens));
+  }
+
+  default CompletableFuture<Void> putAllAsync(Map<String, ?> values, long ttlSeconds) {
+    return completed(
+        () -> {
+          putAll(values, ttlSeconds);
+          return null;
+        });
+  }
+
+  default CompletableFuture<Void> removeAllAsync(Collection<String> tokens) {
+    return completed(
+        () -> {
+          removeAll(tokens);
+          return null;
+        });
+  }
+
+  private static <T> CompletableFuture<T> completed(Supplier<T> action) {
+    try {
+      return CompletableFuture.completedFuture(action.get());
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
 }
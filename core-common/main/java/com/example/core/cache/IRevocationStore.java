@@ -0,0 +1,21 @@
+package com.example.core.cache;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Store of revoked token ids ({@code jti}). Unlike {@link IJwtCache}, an entry must never be
+ * evicted before {@code expiresAt}, otherwise a revoked token becomes valid again.
+ */
+public interface IRevocationStore {
+  void revoke(String jti, Instant expiresAt);
+
+  boolean isRevoked(String jti);
+
+  /** Ids whose token has not expired yet; used to rebuild the in-memory filter. */
+  Collection<String> active();
+
+  /** Notifies {@code listener} of ids revoked by other nodes; no-op for single-node stores. */
+  default void subscribe(Consumer<String> listener) {}
+}
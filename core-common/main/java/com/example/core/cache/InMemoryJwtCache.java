@@ -3,18 +3,32 @@ package com.example.core.cache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
 @Primary
 @Component("inMemoryJwtCache")
 public class InMemoryJwtCache implements IJwtCache {
+  public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
   private final Cache<String, CacheValue> cache;
 
   private record CacheValue(Object value, long ttlSeconds) {}
 
   public InMemoryJwtCache() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  @Autowired
+  public InMemoryJwtCache(@Value("${core.cache.memory.maximum-size:10000}") long maximumSize) {
     this.cache =
         Caffeine.newBuilder()
             //                .expireAfterWrite(1, TimeUnit.HOURS)
@@ -38,10 +52,24 @@ public class InMemoryJwtCache implements IJwtCache {
                     return currentDuration; // không thay đổi TTL khi đọc
                   }
                 })
-            .maximumSize(10000)
+            .maximumSize(maximumSize)
+            .recordStats()
             .build();
   }
 
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  // Dùng cho JwtCacheMetrics
+  Cache<String, ?> nativeCache() {
+    return cache;
+  }
+
   @Override
   public void put(String token, Object value, long ttlSeconds) {
     cache.put(token, new CacheValue(value, ttlSeconds));
@@ -57,4 +85,25 @@ public class InMemoryJwtCache implements IJwtCache {
   public void remove(String token) {
     cache.invalidate(token);
   }
+
+  @Override
+  public Map<String, Object> getAll(Collection<String> tokens) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    cache
+        .getAllPresent(tokens)
+        .forEach((token, cacheValue) -> result.put(token, cacheValue.value()));
+    return result;
+  }
+
+  @Override
+  public void putAll(Map<String, ?> values, long ttlSeconds) {
+    Map<String, CacheValue> entries = new HashMap<>(values.size() * 2);
+    values.forEach((token, value) -> entries.put(token, new CacheValue(value, ttlSeconds)));
+    cache.putAll(entries);
+  }
+
+  @Override
+  public void removeAll(Collection<String> tokens) {
+    cache.invalidateAll(tokens);
+  }
 }
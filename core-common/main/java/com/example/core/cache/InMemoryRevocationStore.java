@@ -0,0 +1,58 @@
+package com.example.core.cache;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node {@link IRevocationStore}: entries stay until their token expires, but they are not
+ * shared with other nodes and are lost on restart. Multi-node deployments enable {@code
+ * core.cache.redis.enable} to use {@link RedisRevocationStore} instead.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "core.cache.redis",
+    name = "enable",
+    havingValue = "false",
+    matchIfMissing = true)
+public class InMemoryRevocationStore implements IRevocationStore {
+  private static final int PURGE_EVERY = 1024;
+
+  private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+  private final AtomicInteger revocations = new AtomicInteger();
+
+  @Override
+  public void revoke(String jti, Instant expiresAt) {
+    expiries.merge(jti, expiresAt.toEpochMilli(), Math::max);
+    if (revocations.incrementAndGet() % PURGE_EVERY == 0) {
+      long now = System.currentTimeMillis();
+      expiries.values().removeIf(expiresAtMs -> expiresAtMs <= now);
+    }
+  }
+
+  @Override
+  public boolean isRevoked(String jti) {
+    Long expiresAtMs = expiries.get(jti);
+    if (expiresAtMs == null) {
+      return false;
+    }
+    if (expiresAtMs <= System.currentTimeMillis()) {
+      expiries.remove(jti, expiresAtMs);
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public Collection<String> active() {
+    long now = System.currentTimeMillis();
+    return expiries.entrySet().stream()
+        .filter(entry -> entry.getValue() > now)
+        .map(Map.Entry::getKey)
+        .toList();
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.core.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the JWT caches to Micrometer (hit/miss, evictions, load time, estimated size) under the
+ * standard {@code cache.*} meters. Spring Boot Actuator binds every {@link MeterBinder} bean
+ * automatically.
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class JwtCacheMetrics implements MeterBinder {
+  private final InMemoryJwtCache inMemoryJwtCache;
+  private final ObjectProvider<RedisJwtCache> redisJwtCache;
+
+  public JwtCacheMetrics(
+      @NonNull InMemoryJwtCache inMemoryJwtCache, ObjectProvider<RedisJwtCache> redisJwtCache) {
+    this.inMemoryJwtCache = inMemoryJwtCache;
+    this.redisJwtCache = redisJwtCache;
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(
+        registry, inMemoryJwtCache.nativeCache(), "jwtCache", Tags.of("tier", "memory"));
+    redisJwtCache.ifAvailable(
+        cache ->
+            CaffeineCacheMetrics.monitor(
+                registry, cache.nearCache().nativeCache(), "jwtCache", Tags.of("tier", "near")));
+  }
+}
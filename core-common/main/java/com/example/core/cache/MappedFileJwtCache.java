@@ -0,0 +1,348 @@
+package com.example.core.cache;
+
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link IJwtCache} that keeps entries off-heap in a memory-mapped file.
+ *
+ * <p>The file is a fixed-size hash table: slots are grouped into regions of {@value
+ * #SLOTS_PER_REGION}, a key (the SHA-256 of the token) always lives in the region picked by its
+ * hash, and a full region evicts its entry closest to expiry. Each slot holds an absolute expiry
+ * time and the Java-serialized value, so nothing but the mapping itself lives on the heap.
+ *
+ * <p>Because expiry is stored as wall-clock time, the file can be mapped again after a restart and
+ * the node comes up with its sessions still cached. If the file's header does not match the
+ * configured layout it is recreated empty. The file is locked while mapped, so a second process
+ * (e.g. an overlapping rolling restart) fails to start instead of sharing the table; a slot whose
+ * content cannot be read back is dropped and treated as a cache miss.
+ *
+ * <p>Enabled with {@code core.cache.mapped.enable=true}; values must be {@link Serializable}. Since
+ * the file outlives the process, values are read back through an {@link ObjectInputFilter} that
+ * only accepts {@code core.cache.mapped.allowed-classes} (plus depth/size limits); anything else is
+ * rejected and treated as a cache miss.
+ */
+@Slf4j
+@Component("mappedFileJwtCache")
+@ConditionalOnProperty(
+    prefix = "core.cache.mapped",
+    name = "enable",
+    havingValue = "true",
+    matchIfMissing = false)
+@EnableConfigurationProperties(MappedJwtCacheProperties.class)
+public class MappedFileJwtCache implements IJwtCache {
+  private static final int MAGIC = 0x4A575443; // "JWTC"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 64;
+  private static final int SLOTS_PER_REGION = 16;
+  private static final int MAX_LOCKS = 4096;
+
+  // Slot layout
+  private static final int STATE = 0;
+  private static final int EXPIRES_AT = 1;
+  private static final int KEY_HASH = 9;
+  private static final int HASH_SIZE = 32;
+  private static final int VALUE_LENGTH = KEY_HASH + HASH_SIZE;
+  private static final int VALUE = VALUE_LENGTH + 4;
+
+  private static final byte EMPTY = 0;
+  private static final byte USED = 1;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] segments;
+  private final int slotSize;
+  private final long regionCount;
+  private final long regionsPerSegment;
+  private final Object[] locks;
+  private final ObjectInputFilter inputFilter;
+
+  public MappedFileJwtCache(MappedJwtCacheProperties properties) throws IOException {
+    this.slotSize = properties.getSlotSize();
+    if (slotSize <= VALUE) {
+      throw new IllegalArgumentException("Slot size must be > " + VALUE + " bytes");
+    }
+    this.regionCount =
+        Math.max(1, (properties.getCapacity() + SLOTS_PER_REGION - 1) / SLOTS_PER_REGION);
+    long regionBytes = (long) SLOTS_PER_REGION * slotSize;
+    this.regionsPerSegment = Math.max(1, Integer.MAX_VALUE / regionBytes);
+    long dataBytes = regionCount * regionBytes;
+    this.inputFilter =
+        ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;maxrefs=10000;maxbytes="
+                + slotSize
+                + ";"
+                + String.join(";", properties.getAllowedClasses())
+                + ";!*");
+
+    Path path = Path.of(properties.getPath()).toAbsolutePath();
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    this.channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    lockFile(path);
+    boolean warm = hasMatchingHeader(dataBytes);
+    if (!warm) {
+      // File mới hoặc khác layout: tạo lại từ đầu (vùng dữ liệu toàn 0 = slot trống)
+      channel.truncate(0);
+      writeHeader();
+    }
+
+    int segmentCount = (int) ((regionCount + regionsPerSegment - 1) / regionsPerSegment);
+    this.segments = new MappedByteBuffer[segmentCount];
+    long segmentBytes = regionsPerSegment * regionBytes;
+    for (int i = 0; i < segmentCount; i++) {
+      long position = HEADER_SIZE + i * segmentBytes;
+      long size = Math.min(segmentBytes, dataBytes - i * segmentBytes);
+      segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+    }
+
+    this.locks = new Object[(int) Math.min(regionCount, MAX_LOCKS)];
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = new Object();
+    }
+    log.info(
+        "Mapped JWT cache {} at {} ({} slots)",
+        warm ? "reloaded" : "created",
+        path,
+        regionCount * SLOTS_PER_REGION);
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    for (MappedByteBuffer segment : segments) {
+      segment.force();
+    }
+    channel.close();
+  }
+
+  @Override
+  public void put(String token, Object value, long ttlSeconds) {
+    byte[] hash = hash(token);
+    byte[] bytes = serialize(value);
+    if (bytes.length > slotSize - VALUE) {
+      throw new IllegalArgumentException(
+          "Serialized value is " + bytes.length + " bytes, slot holds " + (slotSize - VALUE));
+    }
+    long now = System.currentTimeMillis();
+    long expiresAt = now + ttlSeconds * 1000;
+    long region = region(hash);
+    MappedByteBuffer segment = segment(region);
+    int base = regionOffset(region);
+
+    synchronized (lock(region)) {
+      int target = -1;
+      int victim = base;
+      long victimExpiresAt = Long.MAX_VALUE;
+      for (int i = 0; i < SLOTS_PER_REGION; i++) {
+        int slot = base + i * slotSize;
+        if (segment.get(slot + STATE) != USED || segment.getLong(slot + EXPIRES_AT) <= now) {
+          if (target < 0) {
+            target = slot;
+          }
+        } else if (hashEquals(segment, slot, hash)) {
+          target = slot;
+          break;
+        } else if (segment.getLong(slot + EXPIRES_AT) < victimExpiresAt) {
+          victim = slot;
+          victimExpiresAt = segment.getLong(slot + EXPIRES_AT);
+        }
+      }
+      int slot = target >= 0 ? target : victim;
+      // Đánh dấu trống trước khi ghi để slot dở dang không bao giờ được đọc sau khi restart
+      segment.put(slot + STATE, EMPTY);
+      segment.putLong(slot + EXPIRES_AT, expiresAt);
+      segment.put(slot + KEY_HASH, hash);
+      segment.putInt(slot + VALUE_LENGTH, bytes.length);
+      segment.put(slot + VALUE, bytes);
+      segment.put(slot + STATE, USED);
+    }
+  }
+
+  @Override
+  public Object get(String token) {
+    byte[] hash = hash(token);
+    long region = region(hash);
+    MappedByteBuffer segment = segment(region);
+    int base = regionOffset(region);
+    byte[] bytes = null;
+
+    synchronized (lock(region)) {
+      for (int i = 0; i < SLOTS_PER_REGION; i++) {
+        int slot = base + i * slotSize;
+        if (segment.get(slot + STATE) == USED && hashEquals(segment, slot, hash)) {
+          if (segment.getLong(slot + EXPIRES_AT) <= System.currentTimeMillis()) {
+            segment.put(slot + STATE, EMPTY);
+          } else {
+            int length = segment.getInt(slot + VALUE_LENGTH);
+            if (length < 0 || length > slotSize - VALUE) {
+              // Slot hỏng (ghi dở/file bị sửa): bỏ slot, coi như miss
+              log.warn("Drop damaged cached value with length {}", length);
+              segment.put(slot + STATE, EMPTY);
+            } else {
+              bytes = new byte[length];
+              segment.get(slot + VALUE, bytes);
+            }
+          }
+          break;
+        }
+      }
+    }
+    if (bytes == null) {
+      return null;
+    }
+    Object value = deserialize(bytes);
+    if (value == null) {
+      // Không đọc lại được: xoá slot để lần sau không phải deserialize lại
+      remove(hash, region, segment, base);
+    }
+    return value;
+  }
+
+  @Override
+  public void remove(String token) {
+    byte[] hash = hash(token);
+    long region = region(hash);
+    remove(hash, region, segment(region), regionOffset(region));
+  }
+
+  private void remove(byte[] hash, long region, MappedByteBuffer segment, int base) {
+    synchronized (lock(region)) {
+      for (int i = 0; i < SLOTS_PER_REGION; i++) {
+        int slot = base + i * slotSize;
+        if (segment.get(slot + STATE) == USED && hashEquals(segment, slot, hash)) {
+          segment.put(slot + STATE, EMPTY);
+          return;
+        }
+      }
+    }
+  }
+
+  private void lockFile(Path path) throws IOException {
+    FileLock fileLock;
+    try {
+      // Lock được giữ tới khi channel đóng
+      fileLock = channel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      fileLock = null;
+    }
+    if (fileLock == null) {
+      channel.close();
+      throw new IllegalStateException(
+          "Mapped JWT cache file " + path + " is in use by another process");
+    }
+  }
+
+  private boolean hasMatchingHeader(long dataBytes) throws IOException {
+    if (channel.size() != HEADER_SIZE + dataBytes) {
+      return false;
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    channel.read(header, 0);
+    header.flip();
+    return header.getInt() == MAGIC
+        && header.getInt() == VERSION
+        && header.getInt() == slotSize
+        && header.getLong() == regionCount * SLOTS_PER_REGION;
+  }
+
+  private void writeHeader() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).putInt(VERSION).putInt(slotSize).putLong(regionCount * SLOTS_PER_REGION);
+    header.position(0);
+    channel.write(header, 0);
+    // Mở rộng file tới đúng kích thước, phần chưa ghi là sparse và đọc ra toàn 0
+    long regionBytes = (long) SLOTS_PER_REGION * slotSize;
+    channel.write(ByteBuffer.wrap(new byte[1]), HEADER_SIZE + regionCount * regionBytes - 1);
+  }
+
+  private long region(byte[] hash) {
+    long h = ByteBuffer.wrap(hash).getLong();
+    return (h & Long.MAX_VALUE) % regionCount;
+  }
+
+  private MappedByteBuffer segment(long region) {
+    return segments[(int) (region / regionsPerSegment)];
+  }
+
+  private int regionOffset(long region) {
+    return (int) ((region % regionsPerSegment) * SLOTS_PER_REGION * slotSize);
+  }
+
+  private Object lock(long region) {
+    return locks[(int) (region % locks.length)];
+  }
+
+  private static boolean hashEquals(MappedByteBuffer segment, int slot, byte[] hash) {
+    for (int i = 0; i < HASH_SIZE; i++) {
+      if (segment.get(slot + KEY_HASH + i) != hash[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] hash(String token) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static byte[] serialize(Object value) {
+    if (!(value instanceof Serializable)) {
+      throw new IllegalArgumentException("Value must be Serializable: " + value);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(value);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private Object deserialize(byte[] bytes) {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      in.setObjectInputFilter(inputFilter);
+      return in.readObject();
+    } catch (InvalidClassException e) {
+      // Class không nằm trong allowed-classes (hoặc vượt giới hạn): không deserialize, coi như miss
+      log.warn("Drop cached value rejected by the input filter: {}", e.getMessage());
+      return null;
+    } catch (IOException e) {
+      // Dữ liệu hỏng (StreamCorruptedException, EOFException...): coi như miss
+      log.warn("Drop damaged cached value: {}", e.toString());
+      return null;
+    } catch (ClassNotFoundException e) {
+      // Class của value đã bị đổi/xoá giữa hai lần deploy: coi như cache miss
+      log.warn("Drop cached value of unknown class {}", e.getMessage());
+      return null;
+    }
+  }
+}
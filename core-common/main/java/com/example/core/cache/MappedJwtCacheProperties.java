@@ -0,0 +1,25 @@
+package com.example.core.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "core.cache.mapped")
+public class MappedJwtCacheProperties {
+  private boolean enable = false;
+  private String path = "data/jwt-cache.bin";
+  // Số entry tối đa; file có kích thước capacity * slotSize (sparse file)
+  private long capacity = 1_000_000;
+  // Mỗi entry chiếm đúng một slot, value sau khi serialize phải nhỏ hơn slotSize - 45 bytes
+  private int slotSize = 1024;
+  // Các class được phép deserialize từ file (pattern của ObjectInputFilter, vd. "com.myapp.dto.*");
+  // class không nằm trong danh sách bị từ chối và entry được coi như cache miss
+  private List<String> allowedClasses =
+      new ArrayList<>(
+          List.of(
+              "java.lang.*", "java.util.*", "java.time.*", "java.math.*", "com.example.core.**"));
+}
@@ -1,27 +1,489 @@
 package com.example.core.cache;
 
-import com.example.core.common.constants.CoreErrorCodes;
-import com.example.core.common.exceptions.ApplicationException;
-import org.springframework.http.HttpStatus;
+import com.example.core.utils.LogRateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+/**
+ * Two-tier {@link IJwtCache}: a Caffeine near-cache (L1) in front of Redis (L2).
+ *
+ * <ul>
+ *   <li>Redis keys and invalidation messages use the SHA-256 of the token, never the token itself,
+ *       so {@code KEYS}, {@code MONITOR} or {@code SUBSCRIBE} cannot leak live credentials.
+ *   <li>Reads hit L1 first; on a miss the value and its remaining TTL are fetched from Redis in one
+ *       pipeline and copied into L1. A Redis error is logged and treated as a miss.
+ *   <li>Writes go to L1 immediately and are batched into Redis pipelines by a background flusher.
+ *       When a pipeline fails its operations are kept and retried with an exponential backoff:
+ *       every removal, plus at most {@code max-pending-writes} writes (oldest dropped first) that
+ *       keep their original expiry.
+ *   <li>Every write and removal publishes an invalidation on a pub/sub channel so the other nodes
+ *       drop their L1 copy. Removals are sent synchronously, in order after any pending writes, so
+ *       a logout can never be overtaken by an older put.
+ *   <li>Bulk reads fetch every L1 miss in a single pipeline; async variants run on a small
+ *       dedicated pool so callers never block on Redis.
+ * </ul>
+ *
+ * <p>Enabled with {@code core.cache.redis.enable=true}; the application must provide {@code
+ * spring-boot-starter-data-redis}.
+ */
+@Slf4j
 @Component("redisJwtCache")
+@ConditionalOnProperty(
+    prefix = "core.cache.redis",
+    name = "enable",
+    havingValue = "true",
+    matchIfMissing = false)
+@EnableConfigurationProperties(RedisJwtCacheProperties.class)
 public class RedisJwtCache implements IJwtCache {
+  /** A queued Redis operation; {@code value == null} marks a removal. */
+  private record PendingOp(String id, Object value, long expiresAtMs) {
+    static PendingOp write(String id, Object value, long ttlSeconds) {
+      return new PendingOp(
+          id, value, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds));
+    }
+
+    static PendingOp removal(String id) {
+      return new PendingOp(id, null, 0);
+    }
+
+    boolean isRemoval() {
+      return value == null;
+    }
+  }
+
+  private final InMemoryJwtCache nearCache = new InMemoryJwtCache();
+  private final RedisConnectionFactory connectionFactory;
+  private final RedisJwtCacheProperties properties;
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final Queue<PendingOp> pendingWrites = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingCount = new AtomicInteger();
+  private final AtomicLong droppedWrites = new AtomicLong();
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final LogRateLimiter readFailureLog = new LogRateLimiter(() -> 1);
+  // Các lệnh put/xoá của lần flush lỗi, gửi lại trước hàng đợi (guarded by flushLock)
+  private List<PendingOp> retryOps = List.of();
+  private int failedFlushes;
+  private long retryAtMs;
+  private final ScheduledExecutorService flusher;
+  private final ExecutorService asyncExecutor;
+  private RedisMessageListenerContainer listenerContainer;
+
+  public RedisJwtCache(
+      RedisConnectionFactory connectionFactory, RedisJwtCacheProperties properties) {
+    this.connectionFactory = connectionFactory;
+    this.properties = properties;
+    this.redisTemplate = new RedisTemplate<>();
+    this.redisTemplate.setConnectionFactory(connectionFactory);
+    this.redisTemplate.setKeySerializer(RedisSerializer.string());
+    this.redisTemplate.setValueSerializer(RedisSerializer.json());
+    this.redisTemplate.afterPropertiesSet();
+    this.flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "redis-jwt-cache-flusher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.asyncExecutor =
+        Executors.newFixedThreadPool(
+            properties.getAsyncThreads(),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "redis-jwt-cache-async-" + threadIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PostConstruct
+  public void start() {
+    listenerContainer = new RedisMessageListenerContainer();
+    listenerContainer.setConnectionFactory(connectionFactory);
+    listenerContainer.addMessageListener(
+        (message, pattern) -> onInvalidation(message),
+        new ChannelTopic(properties.getInvalidationChannel()));
+    listenerContainer.afterPropertiesSet();
+    listenerContainer.start();
+    flusher.scheduleWithFixedDelay(
+        this::flushQuietly,
+        properties.getFlushIntervalMs(),
+        properties.getFlushIntervalMs(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws Exception {
+    flusher.shutdown();
+    asyncExecutor.shutdown();
+    flushLock.lock();
+    try {
+      retryAtMs = 0; // lần flush cuối không chờ backoff
+    } finally {
+      flushLock.unlock();
+    }
+    try {
+      flush(List.of());
+    } finally {
+      listenerContainer.destroy();
+    }
+  }
+
+  // Dùng cho JwtCacheMetrics
+  InMemoryJwtCache nearCache() {
+    return nearCache;
+  }
 
   @Override
   public void put(String token, Object value, long ttlSeconds) {
-    throw new ApplicationException(
-        CoreErrorCodes.SERVER_ERROR, "Not implements", HttpStatus.FORBIDDEN);
+    String id = tokenId(token);
+    nearCache.put(id, value, ttlSeconds);
+    pendingWrites.add(PendingOp.write(id, value, ttlSeconds));
+    afterEnqueue(pendingCount.incrementAndGet());
   }
 
   @Override
   public Object get(String token) {
-    return null;
+    String id = tokenId(token);
+    Object value = nearCache.get(id);
+    if (value != null) {
+      return value;
+    }
+    List<Object> results;
+    try {
+      results =
+          redisTemplate.executePipelined(
+              (RedisCallback<Object>)
+                  connection -> {
+                    byte[] rawKey = rawKey(redisKey(id));
+                    connection.stringCommands().get(rawKey);
+                    connection.keyCommands().pTtl(rawKey);
+                    return null;
+                  });
+    } catch (RuntimeException e) {
+      logReadFailure(e);
+      return null;
+    }
+    value = results.get(0);
+    if (value != null) {
+      cacheLocally(id, value, results.get(1));
+    }
+    return value;
   }
 
   @Override
   public void remove(String token) {
-    throw new ApplicationException(
-        CoreErrorCodes.SERVER_ERROR, "Not implements", HttpStatus.FORBIDDEN);
+    String id = tokenId(token);
+    nearCache.remove(id);
+    flushRemovals(List.of(id));
+  }
+
+  @Override
+  public Map<String, Object> getAll(Collection<String> tokens) {
+    Map<String, Object> result = new HashMap<>();
+    List<String> misses = new ArrayList<>();
+    List<String> missIds = new ArrayList<>();
+    for (String token : tokens) {
+      String id = tokenId(token);
+      Object value = nearCache.get(id);
+      if (value != null) {
+        result.put(token, value);
+      } else {
+        misses.add(token);
+        missIds.add(id);
+      }
+    }
+    if (misses.isEmpty()) {
+      return result;
+    }
+    // Một pipeline GET + PTTL cho tất cả token chưa có ở near-cache
+    List<Object> replies;
+    try {
+      replies =
+          redisTemplate.executePipelined(
+              (RedisCallback<Object>)
+                  connection -> {
+                    for (String id : missIds) {
+                      byte[] rawKey = rawKey(redisKey(id));
+                      connection.stringCommands().get(rawKey);
+                      connection.keyCommands().pTtl(rawKey);
+                    }
+                    return null;
+                  });
+    } catch (RuntimeException e) {
+      logReadFailure(e);
+      return result;
+    }
+    for (int i = 0; i < misses.size(); i++) {
+      Object value = replies.get(2 * i);
+      if (value != null) {
+        result.put(misses.get(i), value);
+        cacheLocally(missIds.get(i), value, replies.get(2 * i + 1));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void putAll(Map<String, ?> values, long ttlSeconds) {
+    values.forEach(
+        (token, value) -> {
+          String id = tokenId(token);
+          nearCache.put(id, value, ttlSeconds);
+          pendingWrites.add(PendingOp.write(id, value, ttlSeconds));
+        });
+    afterEnqueue(pendingCount.addAndGet(values.size()));
+  }
+
+  @Override
+  public void removeAll(Collection<String> tokens) {
+    List<String> ids = tokens.stream().map(RedisJwtCache::tokenId).distinct().toList();
+    nearCache.removeAll(ids);
+    flushRemovals(ids);
+  }
+
+  @Override
+  public CompletableFuture<Object> getAsync(String token) {
+    return CompletableFuture.supplyAsync(() -> get(token), asyncExecutor);
+  }
+
+  @Override
+  public CompletableFuture<Map<String, Object>> getAllAsync(Collection<String> tokens) {
+    return CompletableFuture.supplyAsync(() -> getAll(tokens), asyncExecutor);
+  }
+
+  @Override
+  public CompletableFuture<Void> putAllAsync(Map<String, ?> values, long ttlSeconds) {
+    return CompletableFuture.runAsync(() -> putAll(values, ttlSeconds), asyncExecutor);
+  }
+
+  @Override
+  public CompletableFuture<Void> removeAllAsync(Collection<String> tokens) {
+    return CompletableFuture.runAsync(() -> removeAll(tokens), asyncExecutor);
+  }
+
+  private void cacheLocally(String id, Object value, Object ttlReply) {
+    if (ttlReply instanceof Long ttlMs && ttlMs > 0) {
+      nearCache.put(id, value, TimeUnit.MILLISECONDS.toSeconds(ttlMs + 999));
+    }
+  }
+
+  // Redis lỗi: coi như miss ở L2, chỉ log tối đa mỗi giây một lần
+  private void logReadFailure(RuntimeException e) {
+    if (readFailureLog.tryAcquire()) {
+      log.warn(
+          "Read JWT cache from Redis failed, treated as a miss ({} similar errors suppressed): {}",
+          readFailureLog.drainSuppressed(),
+          e.getMessage());
+    }
+  }
+
+  private void onInvalidation(Message message) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    int separator = body.indexOf('|');
+    if (separator < 0 || nodeId.equals(body.substring(0, separator))) {
+      return;
+    }
+    nearCache.remove(body.substring(separator + 1));
+  }
+
+  private void afterEnqueue(int pending) {
+    // Redis lỗi kéo dài: bỏ các lệnh put cũ nhất thay vì để hàng đợi tăng vô hạn
+    while (pending > properties.getMaxPendingWrites() && pendingWrites.poll() != null) {
+      pending = pendingCount.decrementAndGet();
+      droppedWrites.incrementAndGet();
+    }
+    if (pending >= properties.getMaxBatchSize()) {
+      flusher.execute(this::flushQuietly);
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush(List.of());
+    } catch (Exception e) {
+      log.warn("Flush pending JWT cache writes to Redis failed: {}", e.getMessage());
+    }
+  }
+
+  // Removal lỗi đã nằm trong trạng thái retry, không cần ném lỗi cho caller
+  private void flushRemovals(List<String> ids) {
+    try {
+      flush(ids);
+    } catch (RuntimeException e) {
+      log.warn(
+          "Remove {} JWT cache entries from Redis failed, queued for retry: {}",
+          ids.size(),
+          e.getMessage());
+    }
+  }
+
+  /**
+   * Sends pending writes followed by the given removals to Redis in a single pipeline, in order.
+   * Background flushes wait for the retry backoff after a failure; removals are always sent right
+   * away.
+   */
+  private void flush(List<String> removals) {
+    flushLock.lock();
+    try {
+      if (removals.isEmpty() && System.currentTimeMillis() < retryAtMs) {
+        return;
+      }
+      List<PendingOp> batch = new ArrayList<>(retryOps);
+      PendingOp op;
+      while ((op = pendingWrites.poll()) != null) {
+        pendingCount.decrementAndGet();
+        batch.add(op);
+      }
+      removals.forEach(id -> batch.add(PendingOp.removal(id)));
+      long now = System.currentTimeMillis();
+      batch.removeIf(pending -> !pending.isRemoval() && pending.expiresAtMs() - now < 1000);
+      if (batch.isEmpty()) {
+        retryOps = List.of();
+        return;
+      }
+      try {
+        send(batch, now);
+      } catch (RuntimeException e) {
+        retryLater(batch);
+        throw e;
+      }
+      retryOps = List.of();
+      failedFlushes = 0;
+      retryAtMs = 0;
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void send(List<PendingOp> batch, long now) {
+    byte[] channel = properties.getInvalidationChannel().getBytes(StandardCharsets.UTF_8);
+    redisTemplate.executePipelined(
+        (RedisCallback<Object>)
+            connection -> {
+              for (PendingOp pending : batch) {
+                byte[] rawKey = rawKey(redisKey(pending.id()));
+                if (pending.isRemoval()) {
+                  connection.keyCommands().del(rawKey);
+                } else {
+                  connection
+                      .stringCommands()
+                      .set(
+                          rawKey,
+                          rawValue(pending.value()),
+                          Expiration.seconds((pending.expiresAtMs() - now) / 1000),
+                          SetOption.upsert());
+                }
+                connection.publish(channel, invalidation(pending.id()));
+              }
+              return null;
+            });
+  }
+
+  /**
+   * Keeps the operations of a failed flush for the next try: every removal, plus the newest {@code
+   * max-pending-writes} writes that are not overridden by a later removal.
+   */
+  private void retryLater(List<PendingOp> batch) {
+    // Duyệt ngược: bỏ put cũ của token bị xoá sau đó và removal trùng lặp
+    Set<String> removedLater = new HashSet<>();
+    List<PendingOp> kept = new ArrayList<>();
+    for (int i = batch.size() - 1; i >= 0; i--) {
+      PendingOp pending = batch.get(i);
+      if (pending.isRemoval()
+          ? removedLater.add(pending.id())
+          : !removedLater.contains(pending.id())) {
+        kept.add(pending);
+      }
+    }
+    Collections.reverse(kept);
+    int excessWrites = kept.size() - removedLater.size() - properties.getMaxPendingWrites();
+    for (Iterator<PendingOp> it = kept.iterator(); excessWrites > 0 && it.hasNext(); ) {
+      if (!it.next().isRemoval()) {
+        it.remove();
+        excessWrites--;
+        droppedWrites.incrementAndGet();
+      }
+    }
+    retryOps = kept;
+    failedFlushes = Math.min(failedFlushes + 1, 20);
+    long backoffMs =
+        Math.min(
+            properties.getMaxRetryBackoffMs(),
+            Math.max(1, properties.getFlushIntervalMs()) << failedFlushes);
+    retryAtMs = System.currentTimeMillis() + backoffMs;
+    log.warn(
+        "Redis unavailable, {} JWT cache operations ({} removals) kept for retry in {} ms ({} writes"
+            + " dropped so far)",
+        retryOps.size(),
+        removedLater.size(),
+        backoffMs,
+        droppedWrites.get());
+  }
+
+  private String redisKey(String id) {
+    return properties.getKeyPrefix() + id;
+  }
+
+  private byte[] invalidation(String id) {
+    return (nodeId + "|" + id).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** SHA-256 of the token: the raw bearer token never leaves this JVM. */
+  private static String tokenId(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static byte[] rawKey(String key) {
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @SuppressWarnings("unchecked")
+  private byte[] rawValue(Object value) {
+    return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
   }
 }
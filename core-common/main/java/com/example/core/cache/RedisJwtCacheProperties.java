@@ -0,0 +1,25 @@
+package com.example.core.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "core.cache.redis")
+public class RedisJwtCacheProperties {
+  private boolean enable = false;
+  private String keyPrefix = "jwt:";
+  private String invalidationChannel = "core:jwt-cache:invalidate";
+  // Kênh pub/sub báo jti vừa bị thu hồi cho các node khác
+  private String revocationChannel = "core:jwt:revoked";
+  // Các lệnh put được gom lại và gửi theo pipeline sau mỗi khoảng thời gian này
+  private long flushIntervalMs = 5;
+  private int maxBatchSize = 256;
+  // Khi Redis lỗi: giữ tối đa số lệnh put này để gửi lại (bỏ các lệnh cũ nhất khi vượt)
+  private int maxPendingWrites = 10_000;
+  // Thời gian chờ tối đa giữa các lần gửi lại (tăng gấp đôi sau mỗi lần lỗi)
+  private long maxRetryBackoffMs = 5_000;
+  // Số thread cho các API *Async
+  private int asyncThreads = 4;
+}
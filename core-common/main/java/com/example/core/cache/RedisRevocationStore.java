@@ -0,0 +1,99 @@
+package com.example.core.cache;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link IRevocationStore} shared by every node through Redis.
+ *
+ * <p>Each revoked id is a key {@code <prefix>revoked:<jti>} expiring with the token, plus a member
+ * of the sorted set {@code <prefix>revoked} scored by expiry so the active ids can be listed.
+ * Writes are synchronous (never batched) and published on {@code revocation-channel} so the other
+ * nodes add the id to their filter immediately. Redis must not be configured with an eviction
+ * policy that can drop these keys early.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "core.cache.redis",
+    name = "enable",
+    havingValue = "true",
+    matchIfMissing = false)
+@EnableConfigurationProperties(RedisJwtCacheProperties.class)
+public class RedisRevocationStore implements IRevocationStore {
+  private final RedisConnectionFactory connectionFactory;
+  private final StringRedisTemplate redisTemplate;
+  private final String keyPrefix;
+  private final String indexKey;
+  private final String channel;
+  private RedisMessageListenerContainer listenerContainer;
+
+  public RedisRevocationStore(
+      RedisConnectionFactory connectionFactory, RedisJwtCacheProperties properties) {
+    this.connectionFactory = connectionFactory;
+    this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    this.keyPrefix = properties.getKeyPrefix() + "revoked:";
+    this.indexKey = properties.getKeyPrefix() + "revoked";
+    this.channel = properties.getRevocationChannel();
+  }
+
+  @Override
+  public void revoke(String jti, Instant expiresAt) {
+    long expiresAtMs = expiresAt.toEpochMilli();
+    long ttlMs = expiresAtMs - System.currentTimeMillis();
+    if (ttlMs <= 0) {
+      return;
+    }
+    redisTemplate.opsForValue().set(keyPrefix + jti, "1", Duration.ofMillis(ttlMs));
+    redisTemplate.opsForZSet().add(indexKey, jti, expiresAtMs);
+    redisTemplate.convertAndSend(channel, jti);
+  }
+
+  @Override
+  public boolean isRevoked(String jti) {
+    return Boolean.TRUE.equals(redisTemplate.hasKey(keyPrefix + jti));
+  }
+
+  @Override
+  public Collection<String> active() {
+    long now = System.currentTimeMillis();
+    // Dọn các id đã hết hạn khỏi sorted set trước khi đọc
+    redisTemplate.opsForZSet().removeRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+    Set<String> ids =
+        redisTemplate.opsForZSet().rangeByScore(indexKey, now, Double.POSITIVE_INFINITY);
+    return ids == null ? List.of() : ids;
+  }
+
+  @Override
+  public synchronized void subscribe(Consumer<String> listener) {
+    if (listenerContainer == null) {
+      listenerContainer = new RedisMessageListenerContainer();
+      listenerContainer.setConnectionFactory(connectionFactory);
+      listenerContainer.afterPropertiesSet();
+      listenerContainer.start();
+    }
+    listenerContainer.addMessageListener(
+        (message, pattern) ->
+            listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+        new ChannelTopic(channel));
+  }
+
+  @PreDestroy
+  public synchronized void stop() throws Exception {
+    if (listenerContainer != null) {
+      listenerContainer.destroy();
+    }
+  }
+}
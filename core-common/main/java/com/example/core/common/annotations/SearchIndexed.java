@@ -0,0 +1,17 @@
+package com.example.core.common.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps an in-memory n-gram index over the {@link SearchableField} text of the entity (see {@code
+ * SearchIndexRegistry}).
+ *
+ * <p>Put it on the entity class (or the root of an entity hierarchy, whose subclasses then share
+ * the index), not on a {@code @MappedSuperclass} shared by unrelated tables.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchIndexed {}
@@ -0,0 +1,16 @@
+package com.example.core.common.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the {@code String} column holding {@code SearchFieldUtils.buildString(entity)}. The value
+ * is refreshed before every insert/update ({@code BaseEntityListener} for JPA, {@code
+ * SearchTextCallback} for R2DBC) and is what the Postgres full-text/trigram indexes are built on
+ * (see {@code PostgresSearchTable}).
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchText {}
@@ -1,6 +1,9 @@
 package com.example.core.common.constants;
 
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 
@@ -29,11 +32,15 @@ public enum CoreErrorCodes implements ErrorCode {
     this.message = message;
   }
 
-  public static CoreErrorCodes getCoreErrorCodes(String value) {
+  private static final Map<String, CoreErrorCodes> BY_CODE =
+      Arrays.stream(values())
+          .collect(Collectors.toUnmodifiableMap(i -> i.code.toUpperCase(Locale.ROOT), i -> i));
 
-    return Arrays.stream(CoreErrorCodes.values())
-        .filter(i -> i.code.equalsIgnoreCase(value))
-        .findFirst()
-        .orElse(null);
+  public static CoreErrorCodes getCoreErrorCodes(String value) {
+    if (value == null) {
+      return null;
+    }
+    CoreErrorCodes errorCode = BY_CODE.get(value);
+    return errorCode != null ? errorCode : BY_CODE.get(value.toUpperCase(Locale.ROOT));
   }
 }
@@ -0,0 +1,169 @@
+package com.example.core.common.constants;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Index of every {@link ErrorCode} known to the application.
+ *
+ * <p>At startup the {@code ErrorCode} enums under {@code core.error-codes.base-packages} (default:
+ * the auto-configuration packages) and {@code com.example.core} are registered by code, and their
+ * messages are rendered once from the {@link MessageSource} for each configured locale. Lookups on
+ * the request path are then a single map read; a missing bundle key falls back to {@link
+ * ErrorCode#getMessage()}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ErrorCatalogProperties.class)
+public class ErrorCatalog {
+  private static final String CORE_PACKAGE = "com.example.core";
+
+  private record Entry(ErrorCode errorCode, Map<Locale, String> messages) {}
+
+  private final Map<String, Entry> entries;
+
+  public ErrorCatalog(
+      ErrorCatalogProperties properties,
+      ObjectProvider<MessageSource> messageSource,
+      BeanFactory beanFactory) {
+    Map<String, Entry> index = new HashMap<>();
+    MessageSource source = messageSource.getIfAvailable();
+    for (ErrorCode errorCode : scan(basePackages(properties, beanFactory))) {
+      Entry entry = new Entry(errorCode, render(errorCode, properties, source));
+      Entry previous = index.putIfAbsent(key(errorCode.getCode()), entry);
+      if (previous != null && previous.errorCode() != errorCode) {
+        log.warn(
+            "Duplicate error code {}: {} ignored, {} kept",
+            errorCode.getCode(),
+            errorCode,
+            previous.errorCode());
+      }
+    }
+    this.entries = Map.copyOf(index);
+    log.info("Registered {} error codes", entries.size());
+  }
+
+  /** Finds an error code by its code, ignoring case; {@code null} if unknown. */
+  public ErrorCode find(String code) {
+    if (code == null) {
+      return null;
+    }
+    Entry entry = entry(code);
+    return entry == null ? null : entry.errorCode();
+  }
+
+  /** Message of {@code errorCode} for the current request locale. */
+  public String message(ErrorCode errorCode) {
+    return message(errorCode, LocaleContextHolder.getLocale());
+  }
+
+  public String message(ErrorCode errorCode, Locale locale) {
+    Entry entry = entry(errorCode.getCode());
+    String message = entry == null ? null : lookup(entry.messages(), locale);
+    return message == null ? errorCode.getMessage() : message;
+  }
+
+  /** Pre-rendered messages of {@code errorCode}, by locale. */
+  public Map<Locale, String> messages(ErrorCode errorCode) {
+    Entry entry = entry(errorCode.getCode());
+    return entry == null ? Map.of() : entry.messages();
+  }
+
+  /**
+   * Value for {@code locale} in a by-locale map, falling back from {@code language_COUNTRY} to
+   * {@code language}; {@code null} if neither is present.
+   */
+  public static <T> T lookup(Map<Locale, T> byLocale, Locale locale) {
+    if (byLocale.isEmpty() || locale == null) {
+      return null;
+    }
+    T value = byLocale.get(locale);
+    if (value == null && !locale.getCountry().isEmpty()) {
+      value = byLocale.get(Locale.forLanguageTag(locale.getLanguage()));
+    }
+    return value;
+  }
+
+  private Entry entry(String code) {
+    Entry entry = entries.get(code);
+    return entry != null ? entry : entries.get(key(code));
+  }
+
+  public Collection<ErrorCode> errorCodes() {
+    return entries.values().stream().map(Entry::errorCode).toList();
+  }
+
+  private static String key(String code) {
+    return code.toUpperCase(Locale.ROOT);
+  }
+
+  private static Set<String> basePackages(
+      ErrorCatalogProperties properties, BeanFactory beanFactory) {
+    Set<String> packages = new LinkedHashSet<>();
+    packages.add(CORE_PACKAGE);
+    if (!properties.getBasePackages().isEmpty()) {
+      packages.addAll(properties.getBasePackages());
+    } else if (AutoConfigurationPackages.has(beanFactory)) {
+      packages.addAll(AutoConfigurationPackages.get(beanFactory));
+    }
+    return packages;
+  }
+
+  private static List<ErrorCode> scan(Set<String> basePackages) {
+    ClassPathScanningCandidateComponentProvider scanner =
+        new ClassPathScanningCandidateComponentProvider(false);
+    scanner.addIncludeFilter(new AssignableTypeFilter(ErrorCode.class));
+    ClassLoader classLoader = ErrorCatalog.class.getClassLoader();
+
+    // CoreErrorCodes luôn được đăng ký trước để không bị code trùng của ứng dụng ghi đè
+    Set<ErrorCode> errorCodes = new LinkedHashSet<>(List.of(CoreErrorCodes.values()));
+    for (String basePackage : basePackages) {
+      for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+        try {
+          Class<?> type = ClassUtils.forName(candidate.getBeanClassName(), classLoader);
+          if (type.isEnum()) {
+            for (Object constant : type.getEnumConstants()) {
+              errorCodes.add((ErrorCode) constant);
+            }
+          }
+        } catch (ClassNotFoundException | LinkageError e) {
+          log.warn("Could not load error code type {}", candidate.getBeanClassName(), e);
+        }
+      }
+    }
+    return List.copyOf(errorCodes);
+  }
+
+  private static Map<Locale, String> render(
+      ErrorCode errorCode, ErrorCatalogProperties properties, MessageSource messageSource) {
+    if (messageSource == null) {
+      return Map.of();
+    }
+    Map<Locale, String> messages = new HashMap<>();
+    String messageKey = properties.getMessagePrefix() + errorCode.getCode();
+    for (Locale locale : properties.getLocales()) {
+      String message = messageSource.getMessage(messageKey, null, null, locale);
+      if (message != null) {
+        messages.put(locale, message);
+      }
+    }
+    return Map.copyOf(messages);
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.core.common.constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "core.error-codes")
+public class ErrorCatalogProperties {
+  // Package chứa các enum ErrorCode của ứng dụng; mặc định dùng package của @SpringBootApplication
+  private List<String> basePackages = new ArrayList<>();
+  // Các locale được render sẵn message từ MessageSource
+  private List<Locale> locales = new ArrayList<>(List.of(Locale.forLanguageTag("vi")));
+  // Key trong resource bundle = messagePrefix + code, ví dụ: error.SYS001
+  private String messagePrefix = "error.";
+}
@@ -5,6 +5,12 @@ import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
 
+/**
+ * Base application exception.
+ *
+ * <p>For 4xx statuses, stack trace capture follows {@code core.exception.stack-trace} (see {@link
+ * StackTraceMode}); high-rate client errors can skip {@code fillInStackTrace} entirely.
+ */
 @Getter
 public class ApplicationException extends RuntimeException {
   private final transient ErrorCode errorCode;
@@ -17,6 +23,7 @@ public class ApplicationException extends RuntimeException {
 
   public ApplicationException(
       final ErrorCode errorCode, final String message, final HttpStatus httpStatus) {
+    super(message, null, true, ExceptionRuntimeContext.captureStackTrace(httpStatus));
     this.errorCode = errorCode;
     this.message = message;
     this.httpStatus = httpStatus;
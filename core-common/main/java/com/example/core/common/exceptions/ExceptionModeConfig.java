@@ -0,0 +1,33 @@
+package com.example.core.common.exceptions;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "core.exception")
+public class ExceptionModeConfig {
+
+  private StackTraceMode stackTrace = StackTraceMode.FULL; // default
+  // SAMPLED: giữ stack trace cho 1/sampleRate exception
+  private int sampleRate = 100;
+  // Số log lỗi 4xx tối đa mỗi giây trong GlobalExceptionHandler
+  private int logPerSecond = 20;
+
+  @PostConstruct
+  public void init() {
+    ExceptionRuntimeContext.setStackTraceMode(stackTrace);
+    ExceptionRuntimeContext.setSampleRate(sampleRate);
+    ExceptionRuntimeContext.setLogPerSecond(logPerSecond);
+    log.info(
+        "⚙️  Exception stack trace mode initialized: {} (sample rate 1/{})",
+        ExceptionRuntimeContext.getStackTraceMode(),
+        ExceptionRuntimeContext.getSampleRate());
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.core.common.exceptions;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.http.HttpStatus;
+
+public class ExceptionRuntimeContext {
+  private static volatile StackTraceMode stackTraceMode = StackTraceMode.FULL;
+  private static volatile int sampleRate = 100;
+  private static volatile int logPerSecond = 20;
+
+  private ExceptionRuntimeContext() {}
+
+  public static void setStackTraceMode(StackTraceMode mode) {
+    stackTraceMode = mode;
+  }
+
+  public static StackTraceMode getStackTraceMode() {
+    return stackTraceMode;
+  }
+
+  public static void setSampleRate(int rate) {
+    sampleRate = Math.max(1, rate);
+  }
+
+  public static int getSampleRate() {
+    return sampleRate;
+  }
+
+  public static void setLogPerSecond(int permits) {
+    logPerSecond = Math.max(0, permits);
+  }
+
+  public static int getLogPerSecond() {
+    return logPerSecond;
+  }
+
+  /** Whether an exception with {@code httpStatus} should fill in its stack trace. */
+  public static boolean captureStackTrace(HttpStatus httpStatus) {
+    // Lỗi server (5xx) luôn giữ stack trace để debug
+    if (httpStatus == null || !httpStatus.is4xxClientError()) {
+      return true;
+    }
+    return switch (stackTraceMode) {
+      case FULL -> true;
+      case NONE -> false;
+      case SAMPLED -> ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    };
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.core.common.exceptions;
+
+/** Stack trace capture for client-error (4xx) {@link ApplicationException}s. */
+public enum StackTraceMode {
+  /** Always capture (default). */
+  FULL,
+  /** Never capture. */
+  NONE,
+  /** Capture for about one in {@code core.exception.sample-rate} exceptions. */
+  SAMPLED
+}
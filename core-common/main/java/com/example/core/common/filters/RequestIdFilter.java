@@ -0,0 +1,64 @@
+package com.example.core.common.filters;
+
+import com.example.core.common.constants.RequestHeader;
+import com.example.core.common.models.RequestId;
+import com.example.core.utils.RequestIdGenerator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Resolves the request id once per request, ahead of the security filter chain.
+ *
+ * <p>The id is taken from {@link RequestHeader#REQUEST_ID} or generated by {@link
+ * RequestIdGenerator}, then stored as a request attribute, in the MDC under {@value #MDC_KEY} and
+ * echoed in the response header. Error handlers read it back with {@link #requestId}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+  public static final String ATTRIBUTE = RequestIdFilter.class.getName() + ".REQUEST_ID";
+  public static final String MDC_KEY = "requestId";
+
+  /**
+   * Request id of the current request. Falls back to the header or a fresh id when the filter did
+   * not run (e.g. the application registers its own filter chain without it).
+   */
+  public static RequestId requestId(HttpServletRequest request) {
+    Object resolved = request.getAttribute(ATTRIBUTE);
+    if (resolved instanceof RequestId requestId) {
+      return requestId;
+    }
+    RequestId requestId = resolve(request);
+    request.setAttribute(ATTRIBUTE, requestId);
+    return requestId;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    RequestId requestId = requestId(request);
+    response.setHeader(RequestHeader.REQUEST_ID.getValue(), requestId.value());
+    MDC.put(MDC_KEY, requestId.value());
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      MDC.remove(MDC_KEY);
+    }
+  }
+
+  private static RequestId resolve(HttpServletRequest request) {
+    String headerRequestId = request.getHeader(RequestHeader.REQUEST_ID.getValue());
+    return headerRequestId == null || headerRequestId.isBlank()
+        ? new RequestId(RequestIdGenerator.next())
+        : new RequestId(headerRequestId);
+  }
+}
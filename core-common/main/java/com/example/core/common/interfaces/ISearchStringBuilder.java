@@ -0,0 +1,36 @@
+package com.example.core.common.interfaces;
+
+/**
+ * Builds the raw search text of an entity from its {@code @SearchableField} fields, before
+ * diacritic folding.
+ *
+ * <p>Implementations named {@code <Entity>SearchStringBuilder} are generated at compile time by
+ * {@code core-search-processor}; {@code SearchFieldUtils} uses them instead of reflection when they
+ * are present.
+ */
+public interface ISearchStringBuilder<T> {
+  String SEPARATOR = "; ";
+
+  String build(T entity);
+
+  /**
+   * Appends {@code prefix + value}, separated from previous values. Null values, and blank values
+   * without a prefix, are skipped.
+   */
+  static void append(StringBuilder out, String prefix, Object value) {
+    if (value == null) {
+      return;
+    }
+    String text = value.toString();
+    if (prefix == null && text.isBlank()) {
+      return;
+    }
+    if (!out.isEmpty()) {
+      out.append(SEPARATOR);
+    }
+    if (prefix != null) {
+      out.append(prefix);
+    }
+    out.append(text);
+  }
+}
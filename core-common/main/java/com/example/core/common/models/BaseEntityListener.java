@@ -1,16 +1,20 @@
 package com.example.core.common.models;
 
 import com.example.core.common.interfaces.IAuditableListeners;
+import com.example.core.search.SearchIndexRegistry;
+import com.example.core.utils.SearchFieldUtils;
 import jakarta.persistence.PostLoad;
 import jakarta.persistence.PostPersist;
 import jakarta.persistence.PostRemove;
 import jakarta.persistence.PostUpdate;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Optional;
 import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -21,6 +25,10 @@ public class BaseEntityListener {
 
   IAuditableListeners auditableListeners;
 
+  // Chỉ có khi bật core.search.index.enable
+  @Autowired(required = false)
+  SearchIndexRegistry searchIndexRegistry;
+
   private Optional<String> getCurrentAuditor() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     if (Objects.isNull(authentication)
@@ -51,6 +59,14 @@ public class BaseEntityListener {
     if (Objects.nonNull(auditableListeners)) {
       auditableListeners.beforeAnyUpdate(auditable);
     }
+    // Sau hook: search text phản ánh cả các field hook vừa sửa
+    SearchFieldUtils.applySearchText(auditable);
+  }
+
+  @PreUpdate
+  private void beforeUpdate(Auditable auditable) {
+    // Cột @SearchText (nếu có) luôn khớp với các field @SearchableField hiện tại
+    SearchFieldUtils.applySearchText(auditable);
   }
 
   @PreRemove
@@ -62,11 +78,23 @@ public class BaseEntityListener {
 
   @PostPersist
   @PostUpdate
-  @PostRemove
   private void afterAnyUpdate(Auditable auditable) {
     if (Objects.nonNull(auditableListeners)) {
       auditableListeners.afterAnyUpdate(auditable);
     }
+    if (Objects.nonNull(searchIndexRegistry)) {
+      searchIndexRegistry.put(auditable);
+    }
+  }
+
+  @PostRemove
+  private void afterAnyRemove(Auditable auditable) {
+    if (Objects.nonNull(auditableListeners)) {
+      auditableListeners.afterAnyUpdate(auditable);
+    }
+    if (Objects.nonNull(searchIndexRegistry)) {
+      searchIndexRegistry.remove(auditable);
+    }
   }
 
   @PostLoad
@@ -0,0 +1,63 @@
+package com.example.core.common.models;
+
+import com.example.core.utils.CursorCodec;
+import java.util.Objects;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Keyset (cursor) pagination request: the counterpart of {@link PageRequestCustom} without OFFSET.
+ *
+ * <p>The sort always ends with a unique tiebreaker (see {@link
+ * SortHandleCustom#withTiebreaker(Sort, String)}), and the sort properties are the keys of the seek
+ * predicate. Use it with Spring Data scrolling queries:
+ *
+ * <pre>{@code
+ * Window<User> findBy(ScrollPosition position, Sort sort, Limit limit);
+ *
+ * CursorPageRequest request = CursorPageRequest.of(cursor, size, sorter, cursorCodec);
+ * Window<User> window = userRepository.findBy(request.position(), request.sort(), request.limit());
+ * return CursorPageResponse.of(window, request, cursorCodec);
+ * }</pre>
+ */
+public record CursorPageRequest(Sort sort, int size, KeysetScrollPosition position) {
+  public static final String DEFAULT_TIEBREAKER = "id";
+
+  public CursorPageRequest {
+    Objects.requireNonNull(sort, "Sort must not be null");
+    Objects.requireNonNull(position, "Position must not be null");
+    if (size < 1) {
+      throw new IllegalArgumentException("Page size must be >= 1");
+    }
+  }
+
+  public Limit limit() {
+    return Limit.of(size);
+  }
+
+  public boolean isFirstPage() {
+    return position.isInitial();
+  }
+
+  /**
+   * @param cursor cursor from a previous {@link CursorPageResponse}; {@code null} or blank for the
+   *     first page
+   * @param sorter sort parameter in {@link SortHandleCustom} format, e.g. "createdAt_descend"
+   */
+  public static CursorPageRequest of(String cursor, int size, String sorter, CursorCodec codec) {
+    return of(cursor, size, SortHandleCustom.from(sorter), DEFAULT_TIEBREAKER, codec);
+  }
+
+  public static CursorPageRequest of(
+      String cursor, int size, Sort sort, String tiebreaker, CursorCodec codec) {
+    Sort seekSort = SortHandleCustom.withTiebreaker(sort, tiebreaker);
+    KeysetScrollPosition position =
+        cursor == null || cursor.isBlank()
+            ? ScrollPosition.keyset()
+            : codec.decode(cursor, seekSort);
+    return new CursorPageRequest(
+        seekSort, Math.min(size, PageRequestCustom.MAX_PAGE_SIZE), position);
+  }
+}
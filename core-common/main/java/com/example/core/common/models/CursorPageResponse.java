@@ -0,0 +1,69 @@
+package com.example.core.common.models;
+
+import com.example.core.utils.CursorCodec;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.NonNull;
+
+/**
+ * Cursor-paginated response, the keyset counterpart of {@link PageResponse}.
+ *
+ * @param <T> Type of data contained in the page
+ */
+@Schema(description = "Phản hồi dữ liệu phân trang theo cursor")
+public record CursorPageResponse<T>(
+    @Schema(
+            description = "Danh sách dữ liệu trong trang hiện tại",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NonNull
+        List<T> data,
+    @Schema(
+            description = "Trạng thái phản hồi",
+            example = "true",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        boolean success,
+    @Schema(description = "Cursor để lấy trang tiếp theo, null nếu là trang cuối")
+        String nextCursor,
+    @Schema(
+            description = "Còn trang tiếp theo hay không",
+            example = "true",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        boolean hasNext,
+    @Schema(
+            description = "Kích thước của mỗi trang",
+            example = "20",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NonNull
+        Integer pageSize)
+    implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  public CursorPageResponse {
+    Objects.requireNonNull(data, "Data list must not be null");
+    Objects.requireNonNull(pageSize, "Page size must not be null");
+
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Page size must be >= 1");
+    }
+  }
+
+  public static <T> CursorPageResponse<T> of(
+      Window<T> window, CursorPageRequest request, CursorCodec codec) {
+    String nextCursor = null;
+    if (window.hasNext() && !window.isEmpty()) {
+      ScrollPosition last = window.positionAt(window.size() - 1);
+      if (last instanceof KeysetScrollPosition keyset) {
+        nextCursor = codec.encode(keyset);
+      }
+    }
+    return new CursorPageResponse<>(
+        window.getContent(), true, nextCursor, nextCursor != null, request.size());
+  }
+}
@@ -1,15 +1,29 @@
 package com.example.core.common.models;
 
+import java.util.Objects;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
-public record PageRequestCustom(PageRequest pageRequest) {
+public record PageRequestCustom(PageRequest pageRequest, TotalMode totalMode) {
   static int MAX_PAGE_SIZE = 500;
 
+  public PageRequestCustom {
+    Objects.requireNonNull(pageRequest, "Page request must not be null");
+    totalMode = totalMode == null ? TotalMode.EXACT : totalMode;
+  }
+
+  public PageRequestCustom(PageRequest pageRequest) {
+    this(pageRequest, TotalMode.EXACT);
+  }
+
   public int currentPage() {
     return pageRequest.getPageNumber() + 1;
   }
 
+  public PageRequestCustom withTotalMode(TotalMode totalMode) {
+    return new PageRequestCustom(pageRequest, totalMode);
+  }
+
   public static PageRequestCustom of(int page, int size, Sort sort) {
     if (size > MAX_PAGE_SIZE) {
       size = MAX_PAGE_SIZE;
@@ -23,4 +37,8 @@ public record PageRequestCustom(PageRequest pageRequest) {
     }
     return new PageRequestCustom(PageRequest.of(page - 1, size));
   }
+
+  public static PageRequestCustom of(int page, int size, Sort sort, TotalMode totalMode) {
+    return of(page, size, sort).withTotalMode(totalMode);
+  }
 }
@@ -25,10 +25,8 @@ public record PageResponse<T>(
             requiredMode = Schema.RequiredMode.REQUIRED)
         boolean success,
     @Schema(
-            description = "Tổng số phần tử",
-            example = "100",
-            requiredMode = Schema.RequiredMode.REQUIRED)
-        @NonNull
+            description = "Tổng số phần tử (null khi totalMode = NONE, gần đúng khi ESTIMATED)",
+            example = "100")
         Long total,
     @Schema(
             description = "Số trang hiện tại (bắt đầu từ 1)",
@@ -41,7 +39,18 @@ public record PageResponse<T>(
             example = "20",
             requiredMode = Schema.RequiredMode.REQUIRED)
         @NonNull
-        Integer pageSize)
+        Integer pageSize,
+    @Schema(
+            description = "Còn trang tiếp theo hay không",
+            example = "true",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        boolean hasNext,
+    @Schema(
+            description = "Cách tính total: EXACT, NONE, ESTIMATED, CACHED",
+            example = "EXACT",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+        @NonNull
+        TotalMode totalMode)
     implements Serializable {
 
   @Serial private static final long serialVersionUID = 1L;
@@ -53,11 +62,14 @@ public record PageResponse<T>(
   public PageResponse {
     // Dùng requireNonNull() thay vì Objects.isNull() để tránh cảnh báo "always false"
     Objects.requireNonNull(data, "Data list must not be null");
-    Objects.requireNonNull(total, "Total must not be null");
     Objects.requireNonNull(currentPage, "Current page must not be null");
     Objects.requireNonNull(pageSize, "Page size must not be null");
+    Objects.requireNonNull(totalMode, "Total mode must not be null");
+    if (totalMode != TotalMode.NONE) {
+      Objects.requireNonNull(total, "Total must not be null");
+    }
 
-    if (total < 0) {
+    if (total != null && total < 0) {
       throw new IllegalArgumentException("Total must not be negative");
     }
     if (currentPage < 1) {
@@ -67,4 +79,20 @@ public record PageResponse<T>(
       throw new IllegalArgumentException("Page size must be >= 1");
     }
   }
+
+  /** Exact-total page; {@code hasNext} is derived from {@code total}. */
+  public PageResponse(
+      List<T> data, boolean success, Long total, Integer currentPage, Integer pageSize) {
+    this(
+        data,
+        success,
+        total,
+        currentPage,
+        pageSize,
+        total != null
+            && currentPage != null
+            && pageSize != null
+            && (long) currentPage * pageSize < total,
+        TotalMode.EXACT);
+  }
 }
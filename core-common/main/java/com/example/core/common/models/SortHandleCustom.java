@@ -1,6 +1,11 @@
 package com.example.core.common.models;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import org.springframework.data.domain.Sort;
 
 /** Utility record for parsing and handling sort parameters. */
@@ -9,31 +14,86 @@ public record SortHandleCustom(Sort sort) {
   private static final String ASC = "ascend";
   private static final String DESC = "descend";
   private static final String DEFAULT_FIELD = "createdAt";
+  private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, DEFAULT_FIELD);
+
+  private static final Pattern FIELD =
+      Pattern.compile("[A-Za-z][A-Za-z0-9_]*(\\.[A-Za-z][A-Za-z0-9_]*)*");
+  // Sort là immutable -> cache theo chuỗi sorter; giới hạn số entry để client không làm phình cache
+  private static final int MAX_CACHED = 1024;
+  private static final Map<String, Sort> CACHE = new ConcurrentHashMap<>();
 
   /**
    * Parse sort string in format "field_direction" (e.g. "name_ascend" or "age_descend") into a
-   * Spring Data {@link Sort} object.
+   * Spring Data {@link Sort} object. Several fields can be given separated by commas, e.g.
+   * "status_ascend,createdAt_descend".
    *
    * @param sorter sort parameter, example: "createdAt_descend"
    * @return a Sort object, defaults to Sort.by(DESC, "createdAt") if invalid
    */
   public static Sort from(String sorter) {
     if (sorter == null || sorter.isBlank()) {
-      return Sort.by(Sort.Direction.DESC, DEFAULT_FIELD);
+      return DEFAULT_SORT;
+    }
+    Sort cached = CACHE.get(sorter);
+    if (cached != null) {
+      return cached;
     }
+    Sort sort = parse(sorter);
+    if (CACHE.size() < MAX_CACHED) {
+      CACHE.putIfAbsent(sorter, sort);
+    }
+    return sort;
+  }
 
-    String[] parts = sorter.split("_");
-    if (parts.length == 2) {
-      String field = parts[0];
-      String direction = parts[1].toLowerCase(Locale.ROOT);
+  /** {@code true} for the sort used when the client sends none (or an invalid one). */
+  public static boolean isDefault(Sort sort) {
+    return DEFAULT_SORT.equals(sort);
+  }
 
-      return switch (direction) {
-        case ASC -> Sort.by(Sort.Direction.ASC, field);
-        case DESC -> Sort.by(Sort.Direction.DESC, field);
-        default -> Sort.by(Sort.Direction.DESC, DEFAULT_FIELD);
-      };
+  /**
+   * Appends {@code uniqueProperty} (in the direction of the last order) when it is not already
+   * sorted on, so the order is total and can be used as a keyset seek predicate.
+   */
+  public static Sort withTiebreaker(Sort sort, String uniqueProperty) {
+    if (sort.getOrderFor(uniqueProperty) != null) {
+      return sort;
     }
+    Sort.Direction direction =
+        sort.stream()
+            .reduce((first, second) -> second)
+            .map(Sort.Order::getDirection)
+            .orElse(Sort.Direction.ASC);
+    return sort.and(Sort.by(direction, uniqueProperty));
+  }
+
+  private static Sort parse(String sorter) {
+    List<Sort.Order> orders = new ArrayList<>();
+    for (String part : sorter.split(",")) {
+      Sort.Order order = parseOrder(part.trim());
+      if (order == null) {
+        return DEFAULT_SORT;
+      }
+      if (orders.stream().noneMatch(o -> o.getProperty().equals(order.getProperty()))) {
+        orders.add(order);
+      }
+    }
+    return Sort.by(orders);
+  }
 
-    return Sort.by(Sort.Direction.DESC, DEFAULT_FIELD);
+  private static Sort.Order parseOrder(String part) {
+    int separator = part.lastIndexOf('_');
+    if (separator <= 0) {
+      return null;
+    }
+    String field = part.substring(0, separator);
+    if (!FIELD.matcher(field).matches()) {
+      return null;
+    }
+    String direction = part.substring(separator + 1).toLowerCase(Locale.ROOT);
+    return switch (direction) {
+      case ASC -> Sort.Order.asc(field);
+      case DESC -> Sort.Order.desc(field);
+      default -> null;
+    };
   }
 }
@@ -0,0 +1,135 @@
+package com.example.core.common.models;
+
+import com.example.core.utils.JsonHelper;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams rows to the client as they are produced, instead of materializing a {@link PageResponse}.
+ * Memory stays bounded by the JSON generator buffer, whatever the row count.
+ *
+ * <p>If the row source fails midway the output is left unterminated (no closing {@code ]}), so a
+ * truncated export never parses as a complete JSON document.
+ *
+ * <p>The body is written after the controller method returns (on the MVC async executor), so the
+ * {@link RowSource} must open its own cursor/transaction; {@code StreamingQuerySupport} in {@code
+ * core-database-sync} does that for JPA streams.
+ *
+ * <pre>{@code
+ * @GetMapping("/users/export")
+ * public ResponseEntity<StreamingResponseBody> export() {
+ *   return StreamResponse.ndjson(streamingQuerySupport.rows(userRepository::streamAll));
+ * }
+ * }</pre>
+ */
+public final class StreamResponse {
+  public static final MediaType APPLICATION_NDJSON =
+      MediaType.parseMediaType("application/x-ndjson");
+
+  // Flush theo lô để client nhận dữ liệu dần mà không tạo quá nhiều chunk nhỏ
+  private static final int FLUSH_EVERY_ROWS = 256;
+
+  private static final ClassValue<ObjectWriter> ROW_WRITERS =
+      new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+          return JsonHelper.writer(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+      };
+
+  public enum Format {
+    /** One JSON document per line ({@code application/x-ndjson}). */
+    NDJSON,
+    /** A single JSON array, sent in chunks ({@code application/json}). */
+    JSON_ARRAY
+  }
+
+  /** Source of rows, invoked once while the response body is being written. */
+  @FunctionalInterface
+  public interface RowSource<T> {
+    void forEach(Consumer<? super T> action);
+  }
+
+  private StreamResponse() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  public static <T> ResponseEntity<StreamingResponseBody> ndjson(RowSource<T> rows) {
+    return of(Format.NDJSON, rows);
+  }
+
+  public static <T> ResponseEntity<StreamingResponseBody> jsonArray(RowSource<T> rows) {
+    return of(Format.JSON_ARRAY, rows);
+  }
+
+  public static <T> ResponseEntity<StreamingResponseBody> of(Format format, RowSource<T> rows) {
+    return ResponseEntity.ok()
+        .contentType(format == Format.NDJSON ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+        // Tắt buffering của nginx để dữ liệu được đẩy ngay tới client
+        .header("X-Accel-Buffering", "no")
+        .body(body(format, rows));
+  }
+
+  public static <T> StreamingResponseBody body(Format format, RowSource<T> rows) {
+    return outputStream -> write(format, rows, outputStream);
+  }
+
+  public static <T> void write(Format format, RowSource<T> rows, OutputStream outputStream)
+      throws IOException {
+    try (JsonGenerator generator =
+        JsonHelper.mapper()
+            .getFactory()
+            .createGenerator(outputStream, JsonEncoding.UTF8)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            // Lỗi giữa chừng không được tự đóng mảng: client phải thấy JSON bị cắt
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+      generator.setRootValueSeparator(null);
+      if (format == Format.JSON_ARRAY) {
+        generator.writeStartArray();
+      }
+      int[] pending = {0};
+      try {
+        rows.forEach(
+            row -> {
+              try {
+                writeRow(generator, row, format);
+                if (++pending[0] == FLUSH_EVERY_ROWS) {
+                  pending[0] = 0;
+                  generator.flush();
+                }
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      } catch (UncheckedIOException e) {
+        // Client ngắt kết nối: trả lại IOException gốc để RowSource đã đóng cursor
+        throw e.getCause();
+      }
+      if (format == Format.JSON_ARRAY) {
+        generator.writeEndArray();
+      }
+      generator.flush();
+    }
+  }
+
+  private static void writeRow(JsonGenerator generator, Object row, Format format)
+      throws IOException {
+    if (row == null) {
+      generator.writeNull();
+    } else {
+      ROW_WRITERS.get(row.getClass()).writeValue(generator, row);
+    }
+    if (format == Format.NDJSON) {
+      generator.writeRaw('\n');
+    }
+  }
+}
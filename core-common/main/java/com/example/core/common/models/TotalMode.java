@@ -0,0 +1,26 @@
+package com.example.core.common.models;
+
+/** How {@link PageResponse#total()} is computed for a page. */
+public enum TotalMode {
+  /** {@code COUNT(*)} on every request (default). */
+  EXACT,
+  /** No count: fetch {@code size + 1} rows and only report {@code hasNext}. */
+  NONE,
+  /** Planner statistics (PostgreSQL {@code pg_class.reltuples}); approximate. */
+  ESTIMATED,
+  /** Exact count, cached for a short TTL per query key. */
+  CACHED;
+
+  /** Parses a request parameter, falling back to {@link #EXACT} for null/unknown values. */
+  public static TotalMode from(String value) {
+    if (value == null || value.isBlank()) {
+      return EXACT;
+    }
+    for (TotalMode mode : values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+    return EXACT;
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.core.configuration.web;
+
+import com.example.core.utils.JsonHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Serves {@code application/cbor} when a client asks for it in {@code Accept} (or sends it as
+ * {@code Content-Type}), e.g. service-to-service calls exchanging large {@code PageResponse}s.
+ *
+ * <p>The CBOR converter is appended after the JSON one, so browsers and clients that accept any
+ * media type keep getting JSON with the same shape. Its mapper comes from Boot's {@link
+ * Jackson2ObjectMapperBuilder}, so {@code spring.jackson.*} settings and registered modules apply
+ * to CBOR as well; without Boot's Jackson auto-configuration it falls back to {@link
+ * JsonHelper#cborMapper()}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(WebMvcConfigurer.class)
+@ConditionalOnProperty(
+    prefix = "core.web.cbor",
+    name = "enable",
+    havingValue = "true",
+    matchIfMissing = true)
+public class CborAutoConfiguration implements WebMvcConfigurer {
+  private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+  public CborAutoConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+    this.objectMapperBuilder = objectMapperBuilder;
+  }
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    // Spring MVC tự thêm converter CBOR mặc định khi có jackson-dataformat-cbor -> thay bằng mapper
+    // dùng chung cấu hình spring.jackson.* với converter JSON
+    converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+    converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper()));
+  }
+
+  private ObjectMapper cborMapper() {
+    // Builder của Boot là bean prototype -> đổi factory không ảnh hưởng mapper JSON
+    Jackson2ObjectMapperBuilder builder = objectMapperBuilder.getIfAvailable();
+    return builder == null
+        ? JsonHelper.cborMapper()
+        : builder.createXmlMapper(false).factory(new CBORFactory()).build();
+  }
+}
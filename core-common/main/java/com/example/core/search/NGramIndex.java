@@ -0,0 +1,482 @@
+package com.example.core.search;
+
+import com.example.core.utils.DiacriticFolding;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted n-gram index over the folded search text of one entity type, answering "which ids
+ * contain this substring" without a {@code LIKE '%term%'} scan.
+ *
+ * <p>Each text gets a document number; every distinct n-gram of the text maps to a sorted posting
+ * array of document numbers. A query intersects the posting arrays of the term's n-grams (smallest
+ * first) and checks the remaining candidates against the stored text, so results are exact. Updates
+ * and removals only mark the old document as deleted. Once deleted documents exceed {@code
+ * compactRatio} of the live ones, the live documents are re-indexed into a fresh copy on a
+ * background thread; changes made meanwhile are replayed onto the copy before it is swapped in.
+ *
+ * <p>Memory is estimated while indexing. When it exceeds {@code maxBytes} the index drops its data
+ * and {@link #search} returns {@code null}, meaning the caller has to query the database. The same
+ * applies until the first {@link #beginRebuild() rebuild} has been committed.
+ *
+ * <p>Texts are expected to be folded like {@code SearchFieldUtils.buildString}; search terms are
+ * folded the same way. Reads share a read lock, writes take the write lock.
+ */
+@Slf4j
+public final class NGramIndex {
+  private static final long[] NO_GRAMS = new long[0];
+  private static final int MIN_COMPACT_DOCUMENTS = 1024;
+  // Ước lượng overhead: entry HashMap + key + slot mảng / posting list mới
+  private static final long DOCUMENT_OVERHEAD = 96;
+  private static final long POSTINGS_OVERHEAD = 112;
+
+  /** One indexed entity: its id and folded search text ({@code null} text = removed). */
+  public record Document(Object key, String text) {}
+
+  @Getter private final String name;
+  @Getter private final int gramSize;
+  private final long maxBytes;
+  private final double compactRatio;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private State state = new State();
+  private boolean ready;
+  // Các thay đổi trong lúc rebuild, được áp lại lên dữ liệu mới khi commit
+  private List<Document> journal;
+  // Các thay đổi trong lúc compact ở background, được áp lại lên bản compact trước khi swap
+  private List<Document> compactionJournal;
+
+  public NGramIndex(String name, int gramSize, long maxBytes, double compactRatio) {
+    if (gramSize < 2 || gramSize > 4) {
+      throw new IllegalArgumentException("gramSize must be between 2 and 4: " + gramSize);
+    }
+    this.name = name;
+    this.gramSize = gramSize;
+    this.maxBytes = maxBytes;
+    this.compactRatio = compactRatio;
+  }
+
+  public void put(Object key, String text) {
+    if (key == null) {
+      return;
+    }
+    String value = text == null ? "" : text;
+    long[] grams = grams(value);
+    lock.writeLock().lock();
+    try {
+      record(new Document(key, value));
+      state.put(key, value, grams);
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Object key) {
+    if (key == null) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      record(new Document(key, null));
+      state.remove(key);
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Ids whose text contains {@code term}, or {@code null} if the index cannot answer. */
+  public Set<Object> search(String term) {
+    return search(term, Integer.MAX_VALUE);
+  }
+
+  /**
+   * At most {@code limit} ids whose text contains {@code term}, in indexing order; {@code null}
+   * when the term is blank, the index is not loaded yet or went over its memory limit.
+   */
+  public Set<Object> search(String term, int limit) {
+    String folded = DiacriticFolding.foldLowerCase(term).trim();
+    if (folded.isEmpty()) {
+      return null;
+    }
+    lock.readLock().lock();
+    try {
+      if (!ready || state.overflowed) {
+        return null;
+      }
+      return state.search(folded, grams(folded), limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** {@code true} once a rebuild has been committed and the memory limit was not exceeded. */
+  public boolean isAvailable() {
+    lock.readLock().lock();
+    try {
+      return ready && !state.overflowed;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return state.documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public long estimatedBytes() {
+    lock.readLock().lock();
+    try {
+      return state.bytes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Starts loading a fresh copy of the index. Queries keep using the current data, and changes made
+   * meanwhile through {@link #put}/{@link #remove} are replayed onto the new data on {@link
+   * Rebuild#commit()}.
+   */
+  public Rebuild beginRebuild() {
+    lock.writeLock().lock();
+    try {
+      if (journal != null) {
+        throw new IllegalStateException("Search index " + name + " is already being rebuilt");
+      }
+      journal = new ArrayList<>();
+      return new Rebuild(new State());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Data being loaded by {@link #beginRebuild()}; not thread-safe, used by one loader thread. */
+  public final class Rebuild {
+    private final State next;
+
+    private Rebuild(State next) {
+      this.next = next;
+    }
+
+    /**
+     * {@code true} once the loaded data went over the memory limit; further batches are ignored and
+     * the caller can stop reading.
+     */
+    public boolean isOverflowed() {
+      return next.overflowed;
+    }
+
+    /** Adds a batch; n-grams of the batch are computed in parallel. */
+    public void add(List<Document> documents) {
+      if (next.overflowed) {
+        return;
+      }
+      long[][] grams =
+          documents.parallelStream()
+              .map(document -> grams(document.text() == null ? "" : document.text()))
+              .toArray(long[][]::new);
+      for (int i = 0; i < grams.length; i++) {
+        Document document = documents.get(i);
+        if (document.key() != null && document.text() != null) {
+          next.put(document.key(), document.text(), grams[i]);
+        }
+      }
+    }
+
+    /** Replays the changes made during the rebuild and swaps the new data in. */
+    public void commit() {
+      // Compact trước khi lấy write lock: dữ liệu mới chỉ do thread này nắm giữ
+      State loaded = next.needsCompaction() ? next.compacted() : next;
+      lock.writeLock().lock();
+      try {
+        replay(loaded, journal);
+        state = loaded;
+        journal = null;
+        ready = true;
+        compactIfNeeded();
+      } finally {
+        lock.writeLock().unlock();
+      }
+      log.info(
+          "Search index {} loaded {} documents (~{} KB)",
+          name,
+          loaded.documents.size(),
+          loaded.bytes / 1024);
+    }
+
+    /** Drops the loaded data and keeps the current index. */
+    public void abort() {
+      lock.writeLock().lock();
+      try {
+        journal = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /** Records a change for a running rebuild or compaction; called under the write lock. */
+  private void record(Document change) {
+    if (journal != null) {
+      journal.add(change);
+    }
+    if (compactionJournal != null) {
+      compactionJournal.add(change);
+    }
+  }
+
+  private void replay(State target, List<Document> changes) {
+    for (Document change : changes) {
+      if (change.text() == null) {
+        target.remove(change.key());
+      } else {
+        target.put(change.key(), change.text(), grams(change.text()));
+      }
+    }
+  }
+
+  /** Starts a background compaction if needed; called under the write lock. */
+  private void compactIfNeeded() {
+    // Đang rebuild thì bỏ qua: dữ liệu mới sẽ thay thế toàn bộ
+    if (journal != null || compactionJournal != null || !state.needsCompaction()) {
+      return;
+    }
+    State source = state;
+    List<Document> live = source.liveDocuments();
+    compactionJournal = new ArrayList<>();
+    CompletableFuture.runAsync(() -> compact(source, live));
+  }
+
+  private void compact(State source, List<Document> live) {
+    State compacted = null;
+    try {
+      compacted = stateOf(live);
+    } catch (RuntimeException e) {
+      log.warn("Search index {} could not be compacted", name, e);
+    }
+    lock.writeLock().lock();
+    try {
+      // Bỏ kết quả nếu dữ liệu đã bị rebuild thay thế trong lúc compact
+      if (compacted != null && state == source) {
+        replay(compacted, compactionJournal);
+        state = compacted;
+      }
+      compactionJournal = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private State stateOf(List<Document> documents) {
+    State result = new State();
+    for (Document document : documents) {
+      result.put(document.key(), document.text(), grams(document.text()));
+    }
+    return result;
+  }
+
+  /** Distinct n-grams of {@code text}, each packed as {@code gramSize} UTF-16 chars in a long. */
+  long[] grams(String text) {
+    int count = text.length() - gramSize + 1;
+    if (count <= 0) {
+      return NO_GRAMS;
+    }
+    long mask = gramSize == 4 ? -1L : (1L << (Character.SIZE * gramSize)) - 1;
+    long[] grams = new long[count];
+    long gram = 0;
+    for (int i = 0; i < text.length(); i++) {
+      gram = ((gram << Character.SIZE) | text.charAt(i)) & mask;
+      if (i >= gramSize - 1) {
+        grams[i - gramSize + 1] = gram;
+      }
+    }
+    Arrays.sort(grams);
+    int distinct = 1;
+    for (int i = 1; i < grams.length; i++) {
+      if (grams[i] != grams[distinct - 1]) {
+        grams[distinct++] = grams[i];
+      }
+    }
+    return distinct == grams.length ? grams : Arrays.copyOf(grams, distinct);
+  }
+
+  /** Sorted document numbers of one n-gram. */
+  private static final class Postings {
+    int[] documents = new int[4];
+    int size;
+
+    void add(int document) {
+      if (size > 0 && documents[size - 1] == document) {
+        return;
+      }
+      if (size == documents.length) {
+        documents = Arrays.copyOf(documents, size + (size >> 1));
+      }
+      documents[size++] = document;
+    }
+  }
+
+  private final class State {
+    final Map<Object, Integer> documents = new HashMap<>();
+    final Map<Long, Postings> postings = new HashMap<>();
+    final BitSet deleted = new BitSet();
+    Object[] keys = new Object[64];
+    String[] texts = new String[64];
+    int next;
+    long bytes;
+    boolean overflowed;
+
+    void put(Object key, String text, long[] grams) {
+      if (overflowed) {
+        return;
+      }
+      Integer existing = documents.get(key);
+      if (existing != null) {
+        if (texts[existing].equals(text)) {
+          return;
+        }
+        delete(existing);
+      }
+      int document = next++;
+      if (document == keys.length) {
+        keys = Arrays.copyOf(keys, document << 1);
+        texts = Arrays.copyOf(texts, document << 1);
+      }
+      keys[document] = key;
+      texts[document] = text;
+      documents.put(key, document);
+      bytes += DOCUMENT_OVERHEAD + 2L * text.length();
+      for (long gram : grams) {
+        Postings list = postings.get(gram);
+        if (list == null) {
+          list = new Postings();
+          postings.put(gram, list);
+          bytes += POSTINGS_OVERHEAD;
+        }
+        list.add(document);
+        bytes += Integer.BYTES;
+      }
+      if (bytes > maxBytes) {
+        overflow();
+      }
+    }
+
+    void remove(Object key) {
+      Integer document = documents.remove(key);
+      if (document != null) {
+        delete(document);
+      }
+    }
+
+    private void delete(int document) {
+      deleted.set(document);
+      bytes -= 2L * texts[document].length();
+      keys[document] = null;
+      texts[document] = null;
+    }
+
+    private void overflow() {
+      log.warn(
+          "Search index {} exceeded {} bytes with {} documents; falling back to database search",
+          name,
+          maxBytes,
+          documents.size());
+      overflowed = true;
+      documents.clear();
+      postings.clear();
+      deleted.clear();
+      keys = new Object[0];
+      texts = new String[0];
+      next = 0;
+      bytes = 0;
+    }
+
+    boolean needsCompaction() {
+      int dead = next - documents.size();
+      return !overflowed && next >= MIN_COMPACT_DOCUMENTS && dead > documents.size() * compactRatio;
+    }
+
+    State compacted() {
+      return stateOf(liveDocuments());
+    }
+
+    /** Copy of the live documents, in indexing order. */
+    List<Document> liveDocuments() {
+      List<Document> live = new ArrayList<>(documents.size());
+      for (int document = 0; document < next; document++) {
+        if (!deleted.get(document)) {
+          live.add(new Document(keys[document], texts[document]));
+        }
+      }
+      return live;
+    }
+
+    Set<Object> search(String term, long[] grams, int limit) {
+      Set<Object> result = new LinkedHashSet<>();
+      if (grams.length == 0) {
+        // Từ khoá ngắn hơn n-gram: quét text đã lưu
+        for (int document = 0; document < next && result.size() < limit; document++) {
+          if (!deleted.get(document) && texts[document].contains(term)) {
+            result.add(keys[document]);
+          }
+        }
+        return result;
+      }
+
+      Postings[] lists = new Postings[grams.length];
+      for (int i = 0; i < grams.length; i++) {
+        lists[i] = postings.get(grams[i]);
+        if (lists[i] == null) {
+          return result;
+        }
+      }
+      Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+      int[] candidates = Arrays.copyOf(lists[0].documents, lists[0].size);
+      int count = candidates.length;
+      for (int i = 1; i < lists.length && count > 0; i++) {
+        count = retainAll(candidates, count, lists[i]);
+      }
+      for (int i = 0; i < count && result.size() < limit; i++) {
+        int document = candidates[i];
+        // Các n-gram có thể nằm rải rác -> kiểm tra lại trên text
+        if (!deleted.get(document) && texts[document].contains(term)) {
+          result.add(keys[document]);
+        }
+      }
+      return result;
+    }
+
+    /** Keeps the candidates that are also in {@code list}; both are sorted. */
+    private static int retainAll(int[] candidates, int count, Postings list) {
+      int kept = 0;
+      int from = 0;
+      for (int i = 0; i < count && from < list.size; i++) {
+        int found = Arrays.binarySearch(list.documents, from, list.size, candidates[i]);
+        if (found >= 0) {
+          candidates[kept++] = candidates[i];
+          from = found + 1;
+        } else {
+          from = -found - 1;
+        }
+      }
+      return kept;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package com.example.core.search;
+
+import com.example.core.utils.DiacriticFolding;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Ranked search condition over a {@link PostgresSearchTable}, rendered with named parameters
+ * ({@code :name}) so the same SQL runs as a JPA native query and through R2DBC {@code
+ * DatabaseClient}.
+ *
+ * <p>The keyword is folded like {@code SearchFieldUtils.buildString} and split on whitespace; every
+ * word becomes a quoted prefix term of a {@code tsquery} ({@code 'nguyen':* & 'van':*}) that the
+ * text search parser splits exactly like the indexed text, so {@code a@b.com}, {@code 3.5} or
+ * {@code foo-bar} stay whole. It is served by the GIN index on the vector column. Depending on
+ * {@link Match}, rows whose text contains the whole keyword ({@code LIKE}) or contain a word
+ * similar to it ({@code pg_trgm <%}) are added through the trigram index. Rows are ordered by
+ * {@code ts_rank_cd + word_similarity}, then by id.
+ */
+public final class PostgresSearchQuery {
+  public static final String TS_QUERY_PARAM = "searchTsQuery";
+  public static final String TERM_PARAM = "searchTerm";
+  public static final String PATTERN_PARAM = "searchPattern";
+  public static final String LIMIT_PARAM = "searchLimit";
+  public static final String OFFSET_PARAM = "searchOffset";
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("\\s+");
+  // Từ chỉ có dấu câu không sinh ra lexeme nào
+  private static final Pattern HAS_LEXEME = Pattern.compile("[\\p{L}\\p{N}]");
+
+  public enum Match {
+    /** Every word of the keyword is a prefix of a word of the text. */
+    WORDS,
+    /** {@link #WORDS}, or the text contains the whole keyword (replaces {@code LIKE '%term%'}). */
+    SUBSTRING,
+    /**
+     * {@link #WORDS}, or part of the text is similar to the keyword ({@code
+     * pg_trgm.word_similarity_threshold}).
+     */
+    FUZZY
+  }
+
+  private final Match match;
+  private final String term;
+  private final String tsQuery;
+  private final int limit;
+  private final long offset;
+
+  private PostgresSearchQuery(Match match, String term, String tsQuery, int limit, long offset) {
+    this.match = match;
+    this.term = term;
+    this.tsQuery = tsQuery;
+    this.limit = limit;
+    this.offset = offset;
+  }
+
+  public static PostgresSearchQuery of(String keyword, Match match, int limit, long offset) {
+    String term = DiacriticFolding.foldLowerCase(keyword).trim();
+    String tsQuery =
+        WORD_SEPARATOR
+            .splitAsStream(term)
+            .filter(word -> HAS_LEXEME.matcher(word).find())
+            .map(PostgresSearchQuery::prefixTerm)
+            .collect(Collectors.joining(" & "));
+    return new PostgresSearchQuery(
+        match == null ? Match.SUBSTRING : match,
+        term,
+        tsQuery.isEmpty() ? null : tsQuery,
+        Math.max(0, limit),
+        Math.max(0, offset));
+  }
+
+  public static PostgresSearchQuery of(String keyword, Match match, Pageable pageable) {
+    if (pageable == null || pageable.isUnpaged()) {
+      return of(keyword, match, Integer.MAX_VALUE, 0);
+    }
+    return of(keyword, match, pageable.getPageSize(), pageable.getOffset());
+  }
+
+  /** {@code true} when the keyword has no word: every row matches, ordered by id. */
+  public boolean isEmpty() {
+    return tsQuery == null;
+  }
+
+  public Match match() {
+    return match;
+  }
+
+  /** Folded keyword. */
+  public String term() {
+    return term;
+  }
+
+  /** WHERE condition (without {@code WHERE}). */
+  public String condition(PostgresSearchTable table) {
+    if (isEmpty()) {
+      return "TRUE";
+    }
+    String words =
+        table.vectorColumn()
+            + " @@ to_tsquery('"
+            + table.textSearchConfig()
+            + "', :"
+            + TS_QUERY_PARAM
+            + ")";
+    return switch (match) {
+      case WORDS -> words;
+      case SUBSTRING -> "(" + words + " OR " + table.textColumn() + " LIKE :" + PATTERN_PARAM + ")";
+        // Text là nhiều field nối bằng "; ": so với từng đoạn (word_similarity), không phải cả
+        // chuỗi
+      case FUZZY -> "(" + words + " OR :" + TERM_PARAM + " <% " + table.textColumn() + ")";
+    };
+  }
+
+  /** Rank expression, higher is better; only meaningful when not {@link #isEmpty()}. */
+  public String rank(PostgresSearchTable table) {
+    return "ts_rank_cd("
+        + table.vectorColumn()
+        + ", to_tsquery('"
+        + table.textSearchConfig()
+        + "', :"
+        + TS_QUERY_PARAM
+        + ")) + word_similarity(:"
+        + TERM_PARAM
+        + ", "
+        + table.textColumn()
+        + ")";
+  }
+
+  /** Parameters of {@link PostgresSearchTable#countSql}. */
+  public Map<String, Object> conditionParameters() {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    if (isEmpty()) {
+      return parameters;
+    }
+    parameters.put(TS_QUERY_PARAM, tsQuery);
+    if (match == Match.SUBSTRING) {
+      parameters.put(PATTERN_PARAM, "%" + escapeLike(term) + "%");
+    }
+    if (match == Match.FUZZY) {
+      parameters.put(TERM_PARAM, term);
+    }
+    return parameters;
+  }
+
+  /** Parameters of {@link PostgresSearchTable#selectSql}. */
+  public Map<String, Object> parameters() {
+    Map<String, Object> parameters = conditionParameters();
+    if (!isEmpty()) {
+      parameters.put(TERM_PARAM, term);
+    }
+    parameters.put(LIMIT_PARAM, limit);
+    parameters.put(OFFSET_PARAM, offset);
+    return parameters;
+  }
+
+  /** {@code 'word':*}; quotes and backslashes are escaped as in a {@code tsquery} literal. */
+  private static String prefixTerm(String word) {
+    return "'" + word.replace("\\", "\\\\").replace("'", "''") + "':*";
+  }
+
+  private static String escapeLike(String value) {
+    StringBuilder escaped = new StringBuilder(value.length() + 8);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '%' || c == '_' || c == '\\') {
+        escaped.append('\\');
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+}
@@ -0,0 +1,141 @@
+package com.example.core.search;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Postgres full-text/trigram search over the {@code @SearchText} column of one table.
+ *
+ * <p>The search column already holds folded, lower-cased text, so the {@code simple} text search
+ * configuration (no stemming, no stop words) matches what {@link PostgresSearchQuery} sends. {@link
+ * #ddl()} adds a generated {@code tsvector} column next to it, a GIN index on that vector for
+ * word/prefix matches, and a {@code gin_trgm_ops} index on the text for substring and similarity
+ * matches (PostgreSQL 12+, {@code pg_trgm}).
+ *
+ * @param table table name, optionally schema-qualified
+ * @param idColumn primary key column, used as tiebreaker when ranking
+ * @param textColumn column holding the search text
+ * @param textSearchConfig text search configuration of the vector, e.g. {@code simple}; an unquoted
+ *     lower-case name, optionally schema-qualified, since it is written as a literal
+ */
+public record PostgresSearchTable(
+    String table, String idColumn, String textColumn, String textSearchConfig) {
+  public static final String DEFAULT_TEXT_SEARCH_CONFIG = "simple";
+  public static final String VECTOR_SUFFIX = "_tsv";
+  private static final int MAX_IDENTIFIER_LENGTH = 63;
+  private static final Pattern IDENTIFIER =
+      Pattern.compile(
+          "(?:[A-Za-z_][A-Za-z0-9_$]*|\"[^\"]+\")(?:\\.(?:[A-Za-z_][A-Za-z0-9_$]*|\"[^\"]+\"))?");
+  // Được ghép vào literal '...' -> không cho phép quote, chỉ tên thường
+  private static final Pattern TEXT_SEARCH_CONFIG =
+      Pattern.compile("[a-z_][a-z0-9_]*(?:\\.[a-z_][a-z0-9_]*)?");
+
+  public PostgresSearchTable {
+    // Tên bảng/cột được ghép thẳng vào SQL -> chỉ nhận identifier hợp lệ
+    requireIdentifier(table, "table");
+    requireIdentifier(idColumn, "idColumn");
+    requireIdentifier(textColumn, "textColumn");
+    if (textSearchConfig == null || !TEXT_SEARCH_CONFIG.matcher(textSearchConfig).matches()) {
+      throw new IllegalArgumentException("Invalid text search configuration: " + textSearchConfig);
+    }
+  }
+
+  public PostgresSearchTable(String table, String idColumn, String textColumn) {
+    this(table, idColumn, textColumn, DEFAULT_TEXT_SEARCH_CONFIG);
+  }
+
+  /** Generated {@code tsvector} column, {@code <textColumn>_tsv}. */
+  public String vectorColumn() {
+    if (textColumn.endsWith("\"")) {
+      return textColumn.substring(0, textColumn.length() - 1) + VECTOR_SUFFIX + "\"";
+    }
+    return textColumn + VECTOR_SUFFIX;
+  }
+
+  /**
+   * Idempotent statements creating the vector column and both GIN indexes, to run one by one in
+   * autocommit mode ({@code CREATE INDEX CONCURRENTLY} cannot run inside a transaction block, so a
+   * migration tool has to run them as a non-transactional migration).
+   *
+   * <p>Adding the {@code GENERATED ... STORED} vector column rewrites the whole table under an
+   * {@code ACCESS EXCLUSIVE} lock, blocking reads and writes for the duration; on a large table run
+   * it in a maintenance window. The indexes are built {@code CONCURRENTLY} and do not block writes;
+   * if such a build fails it leaves an {@code INVALID} index that has to be dropped before running
+   * the statements again.
+   */
+  public List<String> ddl() {
+    String vector = vectorColumn();
+    return List.of(
+        "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+        "ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + textColumn + " text",
+        "ALTER TABLE "
+            + table
+            + " ADD COLUMN IF NOT EXISTS "
+            + vector
+            + " tsvector GENERATED ALWAYS AS (to_tsvector('"
+            + textSearchConfig
+            + "', coalesce("
+            + textColumn
+            + ", ''))) STORED",
+        "CREATE INDEX CONCURRENTLY IF NOT EXISTS "
+            + indexName("tsv")
+            + " ON "
+            + table
+            + " USING gin ("
+            + vector
+            + ")",
+        "CREATE INDEX CONCURRENTLY IF NOT EXISTS "
+            + indexName("trgm")
+            + " ON "
+            + table
+            + " USING gin ("
+            + textColumn
+            + " gin_trgm_ops)");
+  }
+
+  /** {@code SELECT <columns> ... ORDER BY rank DESC, id LIMIT ... OFFSET ...} for {@code query}. */
+  public String selectSql(String columns, PostgresSearchQuery query) {
+    StringBuilder sql =
+        new StringBuilder(256)
+            .append("SELECT ")
+            .append(columns)
+            .append(" FROM ")
+            .append(table)
+            .append(" WHERE ")
+            .append(query.condition(this))
+            .append(" ORDER BY ");
+    if (!query.isEmpty()) {
+      sql.append(query.rank(this)).append(" DESC, ");
+    }
+    return sql.append(idColumn)
+        .append(" LIMIT :")
+        .append(PostgresSearchQuery.LIMIT_PARAM)
+        .append(" OFFSET :")
+        .append(PostgresSearchQuery.OFFSET_PARAM)
+        .toString();
+  }
+
+  public String countSql(PostgresSearchQuery query) {
+    return "SELECT count(*) FROM " + table + " WHERE " + query.condition(this);
+  }
+
+  private String indexName(String kind) {
+    String plainTable = unquote(table.substring(table.lastIndexOf('.') + 1));
+    String name = (plainTable + "_" + unquote(textColumn) + "_" + kind).toLowerCase(Locale.ROOT);
+    name = name.replaceAll("[^a-z0-9_]", "_");
+    return name.length() > MAX_IDENTIFIER_LENGTH ? name.substring(0, MAX_IDENTIFIER_LENGTH) : name;
+  }
+
+  private static String unquote(String identifier) {
+    return identifier.startsWith("\"")
+        ? identifier.substring(1, identifier.length() - 1)
+        : identifier;
+  }
+
+  private static void requireIdentifier(String value, String name) {
+    if (value == null || !IDENTIFIER.matcher(value).matches()) {
+      throw new IllegalArgumentException("Invalid SQL identifier for " + name + ": " + value);
+    }
+  }
+}
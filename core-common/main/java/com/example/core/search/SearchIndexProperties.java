@@ -0,0 +1,24 @@
+package com.example.core.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "core.search.index")
+public class SearchIndexProperties {
+  // Bật index n-gram trong bộ nhớ cho các entity có @SearchIndexed
+  private boolean enable = false;
+  // Độ dài n-gram (2..4); từ khoá ngắn hơn sẽ quét tuần tự trên text đã lưu
+  private int gramSize = 3;
+  // Giới hạn bộ nhớ ước tính cho mỗi entity; vượt quá thì index bị tắt, tìm kiếm quay về DB
+  private DataSize maxMemoryPerEntity = DataSize.ofMegabytes(64);
+  // Compact posting list khi số document đã xoá/cập nhật vượt tỉ lệ này so với document còn sống
+  private double compactRatio = 0.3;
+  // Số entity mỗi batch khi rebuild (n-gram của batch được tính song song)
+  private int rebuildBatchSize = 2000;
+  // Số entity được rebuild đồng thời lúc khởi động
+  private int rebuildParallelism = 2;
+}
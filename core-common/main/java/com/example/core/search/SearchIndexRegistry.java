@@ -0,0 +1,223 @@
+package com.example.core.search;
+
+import com.example.core.common.annotations.SearchIndexed;
+import com.example.core.utils.SearchFieldUtils;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * One {@link NGramIndex} per {@link SearchIndexed} entity, keyed by the annotated class.
+ *
+ * <p>{@code BaseEntityListener} calls {@link #put}/{@link #remove} from the JPA post-persist,
+ * post-update and post-remove callbacks. The search text is built at that moment but applied after
+ * the transaction commits, so rolled back changes never reach the index. {@link #rebuild} reloads
+ * an index from a full scan (see {@code SearchIndexLoader} in {@code core-database-sync}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(SearchIndexProperties.class)
+@ConditionalOnProperty(prefix = "core.search.index", name = "enable", havingValue = "true")
+public class SearchIndexRegistry {
+  // Class mang @SearchIndexed gần nhất trong cây kế thừa (subclass dùng chung index)
+  private static final ClassValue<Optional<Class<?>>> INDEXED_TYPES =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Class<?>> computeValue(Class<?> type) {
+          for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(SearchIndexed.class)) {
+              return Optional.of(current);
+            }
+          }
+          return Optional.empty();
+        }
+      };
+
+  private static final ClassValue<MethodHandle> ID_GETTERS =
+      new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+          return idGetter(type);
+        }
+      };
+
+  @Getter private final SearchIndexProperties properties;
+  private final Map<Class<?>, NGramIndex> indexes = new ConcurrentHashMap<>();
+
+  public boolean isIndexed(Class<?> type) {
+    return type != null && INDEXED_TYPES.get(type).isPresent();
+  }
+
+  /** The class carrying {@link SearchIndexed} for {@code type}, or {@code null}. */
+  public Class<?> indexedType(Class<?> type) {
+    return type == null ? null : INDEXED_TYPES.get(type).orElse(null);
+  }
+
+  /** Index of {@code type} (or of its {@link SearchIndexed} superclass), {@code null} if none. */
+  public NGramIndex index(Class<?> type) {
+    Class<?> indexedType = indexedType(type);
+    if (indexedType == null) {
+      return null;
+    }
+    return indexes.computeIfAbsent(
+        indexedType,
+        key ->
+            new NGramIndex(
+                key.getSimpleName(),
+                properties.getGramSize(),
+                properties.getMaxMemoryPerEntity().toBytes(),
+                properties.getCompactRatio()));
+  }
+
+  /** Indexes the current search text of {@code entity} (after commit when in a transaction). */
+  public void put(Object entity) {
+    NGramIndex index = entity == null ? null : index(entity.getClass());
+    if (index == null) {
+      return;
+    }
+    Object id = id(entity);
+    String text = SearchFieldUtils.buildString(entity);
+    afterCommit(() -> index.put(id, text));
+  }
+
+  /** Removes {@code entity} from its index (after commit when in a transaction). */
+  public void remove(Object entity) {
+    NGramIndex index = entity == null ? null : index(entity.getClass());
+    if (index == null) {
+      return;
+    }
+    Object id = id(entity);
+    afterCommit(() -> index.remove(id));
+  }
+
+  /**
+   * Ids of {@code type} whose search text contains {@code term}; {@code null} when the in-memory
+   * index cannot answer (not indexed, still loading, over its memory limit or blank term) and the
+   * database has to be queried instead.
+   */
+  public Set<Object> search(Class<?> type, String term) {
+    return search(type, term, Integer.MAX_VALUE);
+  }
+
+  public Set<Object> search(Class<?> type, String term, int limit) {
+    NGramIndex index = index(type);
+    return index == null ? null : index.search(term, limit);
+  }
+
+  /**
+   * Reloads the index of {@code type} from {@code source}, which feeds every entity to the given
+   * consumer (e.g. a streaming query). The search text is built inside the consumer, on the loading
+   * thread while the entity is still attached (lazy fields can be read); only the n-grams are
+   * computed in parallel, per batch of {@code core.search.index.rebuild-batch-size} entities.
+   * Queries keep using the previous data until the rebuild completes. Reading stops as soon as the
+   * loaded data goes over the memory limit.
+   */
+  public <T> void rebuild(Class<T> type, Consumer<Consumer<? super T>> source) {
+    NGramIndex index = index(type);
+    if (index == null) {
+      throw new IllegalArgumentException(type.getName() + " is not @SearchIndexed");
+    }
+    int batchSize = Math.max(1, properties.getRebuildBatchSize());
+    NGramIndex.Rebuild rebuild = index.beginRebuild();
+    try {
+      List<NGramIndex.Document> batch = new ArrayList<>(batchSize);
+      try {
+        source.accept(
+            entity -> {
+              if (rebuild.isOverflowed()) {
+                throw new LoadStopped();
+              }
+              batch.add(new NGramIndex.Document(id(entity), SearchFieldUtils.buildString(entity)));
+              if (batch.size() >= batchSize) {
+                rebuild.add(batch);
+                batch.clear();
+              }
+            });
+        rebuild.add(batch);
+      } catch (LoadStopped e) {
+        // Vượt giới hạn bộ nhớ: index bị tắt, không cần đọc tiếp
+      }
+      rebuild.commit();
+    } catch (RuntimeException e) {
+      rebuild.abort();
+      throw e;
+    }
+  }
+
+  /** Stops the source of a rebuild once the index went over its memory limit. */
+  private static final class LoadStopped extends RuntimeException {
+    LoadStopped() {
+      super(null, null, false, false);
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private static Object id(Object entity) {
+    MethodHandle getter = ID_GETTERS.get(entity.getClass());
+    if (getter == null) {
+      return null;
+    }
+    try {
+      return getter.invokeExact(entity);
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  /** Getter of the {@code @Id}/{@code @EmbeddedId} field, searched up the class hierarchy. */
+  private static MethodHandle idGetter(Class<?> type) {
+    for (Class<?> current = type;
+        current != null && current != Object.class;
+        current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (field.isAnnotationPresent(Id.class)
+            || field.isAnnotationPresent(EmbeddedId.class)
+            || field.isAnnotationPresent(org.springframework.data.annotation.Id.class)) {
+          try {
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                .unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+          } catch (IllegalAccessException | RuntimeException e) {
+            log.warn("Cannot read id field {} of {}", field.getName(), type.getName(), e);
+            return null;
+          }
+        }
+      }
+    }
+    log.warn("{} has no @Id field; it cannot be added to a search index", type.getName());
+    return null;
+  }
+}
@@ -1,13 +1,29 @@
 package com.example.core.security;
 
+import com.example.core.security.models.PasswordHashingProperties;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CustomPasswordEncoder implements PasswordEncoder {
+  private static final Pattern BCRYPT_PATTERN =
+      Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
 
-  private final BCryptPasswordEncoder delegate = new BCryptPasswordEncoder(10);
+  private final BCryptPasswordEncoder delegate;
+  private final String versionPrefix;
+
+  public CustomPasswordEncoder() {
+    this(new PasswordHashingProperties());
+  }
+
+  @Autowired
+  public CustomPasswordEncoder(PasswordHashingProperties properties) {
+    this.delegate = new BCryptPasswordEncoder(properties.getVersion(), properties.getStrength());
+    this.versionPrefix = properties.getVersion().getVersion() + "$";
+  }
 
   @Override
   public String encode(CharSequence rawPassword) {
@@ -18,4 +34,16 @@ public class CustomPasswordEncoder implements PasswordEncoder {
   public boolean matches(CharSequence rawPassword, String encodedPassword) {
     return delegate.matches(rawPassword, encodedPassword);
   }
+
+  /** A hash needs upgrading when it is not BCrypt, uses another version or a lower cost. */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.isEmpty()) {
+      return false;
+    }
+    if (!BCRYPT_PATTERN.matcher(encodedPassword).matches()) {
+      return true;
+    }
+    return !encodedPassword.startsWith(versionPrefix) || delegate.upgradeEncoding(encodedPassword);
+  }
 }
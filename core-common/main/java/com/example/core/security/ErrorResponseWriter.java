@@ -0,0 +1,124 @@
+package com.example.core.security;
+
+import com.example.core.common.constants.ErrorCatalog;
+import com.example.core.common.constants.ErrorCode;
+import com.example.core.utils.JsonHelper;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.SystemUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes {@link com.example.core.common.models.ApiErrorResponse}-shaped JSON straight to the
+ * response output stream.
+ *
+ * <p>Field names and the code/message of every {@link ErrorCode} are held as {@link
+ * SerializedString}s, whose quoted UTF-8 bytes are encoded once and then copied into each response.
+ * The host name sent in the service header is resolved once at startup.
+ */
+@Component
+public class ErrorResponseWriter {
+  private static final DateTimeFormatter TIMESTAMP_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+  private static final SerializedString GUID = new SerializedString("guid");
+  private static final SerializedString CODE = new SerializedString("code");
+  private static final SerializedString MESSAGE = new SerializedString("message");
+  private static final SerializedString PATH = new SerializedString("path");
+  private static final SerializedString METHOD = new SerializedString("method");
+  private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+
+  private record Fragments(
+      SerializedString code, SerializedString message, Map<Locale, SerializedString> messages) {
+
+    SerializedString message(Locale locale) {
+      SerializedString localized = ErrorCatalog.lookup(messages, locale);
+      return localized != null ? localized : message;
+    }
+  }
+
+  private final ErrorCatalog errorCatalog;
+  private final Map<ErrorCode, Fragments> fragments = new ConcurrentHashMap<>();
+  private final String hostName;
+
+  public ErrorResponseWriter(ErrorCatalog errorCatalog) {
+    this.errorCatalog = errorCatalog;
+    for (ErrorCode errorCode : errorCatalog.errorCodes()) {
+      fragments.put(errorCode, fragmentsOf(errorCode));
+    }
+    String host = SystemUtils.getHostName();
+    this.hostName = Objects.isNull(host) ? "DEV" : host;
+  }
+
+  public String getHostName() {
+    return hostName;
+  }
+
+  /**
+   * Writes the error body. {@code message} may be {@code null} to use the error code's own
+   * (pre-encoded) message, localized for the request locale when {@link ErrorCatalog} has one.
+   */
+  public void write(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      HttpStatus status,
+      ErrorCode errorCode,
+      String message,
+      String requestId)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+    Fragments encoded = fragments.computeIfAbsent(errorCode, this::fragmentsOf);
+    try (JsonGenerator generator =
+        JsonHelper.mapper()
+            .getFactory()
+            .createGenerator(response.getOutputStream(), JsonEncoding.UTF8)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      generator.writeStartObject();
+      generator.writeFieldName(GUID);
+      generator.writeString(requestId);
+      generator.writeFieldName(CODE);
+      generator.writeString(encoded.code());
+      generator.writeFieldName(MESSAGE);
+      if (message == null || message.equals(errorCode.getMessage())) {
+        generator.writeString(encoded.message(request.getLocale()));
+      } else {
+        generator.writeString(message);
+      }
+      generator.writeFieldName(PATH);
+      generator.writeString(request.getRequestURI());
+      generator.writeFieldName(METHOD);
+      generator.writeString(request.getMethod());
+      generator.writeFieldName(TIMESTAMP);
+      generator.writeString(TIMESTAMP_FORMAT.format(LocalDateTime.now()));
+      generator.writeEndObject();
+    }
+  }
+
+  private Fragments fragmentsOf(ErrorCode errorCode) {
+    Map<Locale, SerializedString> messages = new HashMap<>();
+    errorCatalog
+        .messages(errorCode)
+        .forEach((locale, message) -> messages.put(locale, new SerializedString(message)));
+    return new Fragments(
+        new SerializedString(errorCode.getCode()),
+        new SerializedString(errorCode.getMessage()),
+        Map.copyOf(messages));
+  }
+}
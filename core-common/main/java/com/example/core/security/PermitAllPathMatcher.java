@@ -0,0 +1,136 @@
+package com.example.core.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Matches the public (permit-all) paths with a prefix trie built once at startup.
+ *
+ * <p>Patterns made of literal segments, {@code *} segments and a trailing {@code /**} are compiled
+ * into the trie, so a lookup walks the request path once instead of trying every Ant pattern.
+ * Anything else (e.g. {@code /img/*.png}, {@code /a/**}{@code /b}) falls back to an {@link
+ * AntPathRequestMatcher}. Duplicate patterns are dropped.
+ */
+public final class PermitAllPathMatcher implements RequestMatcher {
+  private static final String ANY_SEGMENT = "*";
+  private static final String ANY_PATH = "**";
+
+  private static final class Node {
+    final Map<String, Node> children = new HashMap<>();
+    Node anySegment;
+    // Pattern kết thúc tại node này
+    boolean terminal;
+    // Pattern có "/**" ngay sau node này: khớp chính nó và mọi path con
+    boolean anyPath;
+  }
+
+  private final Node root = new Node();
+  private final List<RequestMatcher> fallbackMatchers = new ArrayList<>();
+  private final Set<String> patterns;
+
+  public PermitAllPathMatcher(Collection<String> patterns) {
+    this.patterns = new LinkedHashSet<>(patterns);
+    for (String pattern : this.patterns) {
+      if (!insert(pattern)) {
+        fallbackMatchers.add(new AntPathRequestMatcher(pattern));
+      }
+    }
+  }
+
+  public Set<String> getPatterns() {
+    return patterns;
+  }
+
+  @Override
+  public boolean matches(HttpServletRequest request) {
+    if (matches(requestPath(request))) {
+      return true;
+    }
+    for (RequestMatcher matcher : fallbackMatchers) {
+      if (matcher.matches(request)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Matches a path against the trie-compiled patterns only. */
+  public boolean matches(String path) {
+    return matches(root, path, 0);
+  }
+
+  private static boolean matches(Node node, String path, int from) {
+    if (node.anyPath) {
+      return true;
+    }
+    int start = from;
+    while (start < path.length() && path.charAt(start) == '/') {
+      start++;
+    }
+    if (start >= path.length()) {
+      return node.terminal;
+    }
+    int end = path.indexOf('/', start);
+    if (end < 0) {
+      end = path.length();
+    }
+    Node literal = node.children.get(path.substring(start, end));
+    if (literal != null && matches(literal, path, end)) {
+      return true;
+    }
+    return node.anySegment != null && matches(node.anySegment, path, end);
+  }
+
+  private boolean insert(String pattern) {
+    String[] segments = pattern.split("/");
+    List<String> parts = new ArrayList<>(segments.length);
+    for (String segment : segments) {
+      if (!segment.isEmpty()) {
+        parts.add(segment);
+      }
+    }
+    for (int i = 0; i < parts.size(); i++) {
+      String part = parts.get(i);
+      boolean last = i == parts.size() - 1;
+      if (ANY_PATH.equals(part) ? !last : !ANY_SEGMENT.equals(part) && hasWildcard(part)) {
+        return false;
+      }
+    }
+
+    Node node = root;
+    for (String part : parts) {
+      if (ANY_PATH.equals(part)) {
+        node.anyPath = true;
+        return true;
+      }
+      if (ANY_SEGMENT.equals(part)) {
+        if (node.anySegment == null) {
+          node.anySegment = new Node();
+        }
+        node = node.anySegment;
+      } else {
+        node = node.children.computeIfAbsent(part, key -> new Node());
+      }
+    }
+    node.terminal = true;
+    return true;
+  }
+
+  private static boolean hasWildcard(String segment) {
+    return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+  }
+
+  private static String requestPath(HttpServletRequest request) {
+    String path = request.getServletPath();
+    String pathInfo = request.getPathInfo();
+    return pathInfo == null ? path : path + pathInfo;
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.core.security;
 
 import com.example.core.security.models.JwtProperties;
+import com.example.core.security.models.PasswordHashingProperties;
 import com.example.core.security.models.SecurityProperties;
 import com.example.core.security.services.JWTTokenService;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -19,7 +20,11 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
  */
 @AutoConfiguration
 @ConditionalOnClass(JwtDecoder.class)
-@EnableConfigurationProperties({JwtProperties.class, SecurityProperties.class})
+@EnableConfigurationProperties({
+  JwtProperties.class,
+  SecurityProperties.class,
+  PasswordHashingProperties.class
+})
 @ComponentScan(basePackages = "com.example.core")
 @Import({
     JWTTokenService.class,
@@ -1,7 +1,9 @@
 package com.example.core.security;
 
 import com.example.core.security.models.SecurityProperties;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.AccessLevel;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -9,11 +11,13 @@ import lombok.experimental.FieldDefaults;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
 
@@ -30,19 +34,31 @@ public class SecurityConfiguration {
 
   @NonNull SecurityProperties securityProperties;
 
+  @NonNull JwtDecoder jwtDecoder;
+
+  private static final List<String> DEFAULT_PERMIT_ALL =
+      List.of(
+          "/swagger-ui/**",
+          "/api-docs.yaml",
+          "/api-docs/**",
+          "/x/api-docs.yaml",
+          "/x/api-docs/**",
+          "/error/**",
+          "/actuator/**",
+          "/favicon.ico");
+
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-    List<String> permitAll = securityProperties.getPermitAll();
-    permitAll.add("/swagger-ui/**");
-    permitAll.add("/api-docs.yaml");
-    permitAll.add("/api-docs/**");
-    permitAll.add("/x/api-docs.yaml");
-    permitAll.add("/x/api-docs/**");
-    permitAll.add("/error/**");
-    permitAll.add("/actuator/**");
-    permitAll.add("/favicon.ico");
+    // Không sửa securityProperties.getPermitAll(): bean này có thể được gọi nhiều lần
+    Set<String> permitAll = new LinkedHashSet<>(securityProperties.getPermitAll());
+    permitAll.addAll(DEFAULT_PERMIT_ALL);
+    PermitAllPathMatcher permitAllMatcher = new PermitAllPathMatcher(permitAll);
 
-    http.oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
+    http.oauth2ResourceServer(
+        oauth2 ->
+            oauth2
+                .bearerTokenResolver(bearerTokenResolver(permitAllMatcher))
+                .jwt(jwt -> jwt.decoder(jwtDecoder)));
 
     http.sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
@@ -54,11 +70,7 @@ public class SecurityConfiguration {
 
     http.authorizeHttpRequests(
         request ->
-            request
-                .requestMatchers((permitAll.toArray(String[]::new)))
-                .permitAll()
-                .anyRequest()
-                .authenticated());
+            request.requestMatchers(permitAllMatcher).permitAll().anyRequest().authenticated());
     http.headers(
         headers ->
             headers
@@ -70,4 +82,10 @@ public class SecurityConfiguration {
     http.csrf(AbstractHttpConfigurer::disable);
     return http.build();
   }
+
+  /** Public paths never read the Authorization header, so no JWT is parsed or verified for them. */
+  private static BearerTokenResolver bearerTokenResolver(PermitAllPathMatcher permitAllMatcher) {
+    DefaultBearerTokenResolver delegate = new DefaultBearerTokenResolver();
+    return request -> permitAllMatcher.matches(request) ? null : delegate.resolve(request);
+  }
 }
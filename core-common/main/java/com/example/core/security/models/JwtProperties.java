@@ -20,6 +20,17 @@ public class JwtProperties {
   long jwtAccessTokenExpirationS;
   String issuer;
   String jwkSetUri;
+  // Số token đã verify được giữ lại để không phải verify chữ ký RSA lại
+  long decoderCacheSize = 10000;
+  // Chỉ dùng khi cấu hình jwkSetUri
+  long jwkSetRefreshS = 300;
+  long jwkSetMinRefetchS = 30;
+  long jwkSetTimeoutMs = 2000;
+  // Kích thước Bloom filter cho danh sách token bị thu hồi
+  long revocationExpectedInsertions = 100000;
+  double revocationFalsePositiveRate = 0.01;
+  // Chu kỳ dựng lại Bloom filter từ revocation store (bù cho message pub/sub bị lỡ)
+  long revocationResyncS = 30;
 
   public RSAPublicKey getPublicKey() {
     return RsaKeyConverters.x509().convert(new ByteArrayInputStream(publicKey.getBytes()));
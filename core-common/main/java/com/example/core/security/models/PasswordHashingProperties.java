@@ -0,0 +1,17 @@
+package com.example.core.security.models;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.BCryptVersion;
+
+@Data
+@ConfigurationProperties(prefix = "core.password")
+public class PasswordHashingProperties {
+  // Đổi strength/version thì hash cũ sẽ được hash lại khi user đăng nhập thành công
+  private int strength = 10;
+  private BCryptVersion version = BCryptVersion.$2A;
+  // Số thread hash tối đa chạy song song (giới hạn concurrency)
+  private int threads = Runtime.getRuntime().availableProcessors();
+  // Số request chờ tối đa, vượt quá sẽ trả 503
+  private int queueCapacity = 200;
+}
@@ -0,0 +1,185 @@
+package com.example.core.security.services;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link JWKSource} that keeps the remote JWK set in memory, indexed by {@code kid}.
+ *
+ * <ul>
+ *   <li>The set is refreshed in the background on a fixed schedule; request threads only block on
+ *       the very first load. If that load fails, requests fail fast until {@code
+ *       minRefetchInterval} has passed instead of each repeating the blocking fetch.
+ *   <li>A stale set keeps being served while a refresh is in flight or when the JWKS endpoint is
+ *       down.
+ *   <li>A token signed with an unknown {@code kid} triggers an asynchronous refetch, at most once
+ *       per {@code minRefetchInterval}, so a flood of forged tokens cannot hammer the endpoint.
+ * </ul>
+ */
+@Slf4j
+public class CachingJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+  private static final int SIZE_LIMIT_BYTES = 50 * 1024;
+
+  private record Snapshot(JWKSet jwkSet, Map<String, JWK> byKid, long fetchedAt) {}
+
+  private final URL jwkSetUrl;
+  private final long refreshIntervalMs;
+  private final long minRefetchIntervalMs;
+  private final int timeoutMs;
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+  private final AtomicBoolean refreshing = new AtomicBoolean(false);
+  private final AtomicLong lastUnknownKidRefetch = new AtomicLong(0);
+  // Lần tải đầu lỗi gần nhất (guarded by this)
+  private long lastInitialLoadAttempt;
+  private KeySourceException lastInitialLoadFailure;
+  private final ScheduledExecutorService scheduler;
+
+  public CachingJwkSource(
+      @NonNull URL jwkSetUrl,
+      @NonNull Duration refreshInterval,
+      @NonNull Duration minRefetchInterval,
+      @NonNull Duration timeout) {
+    this.jwkSetUrl = jwkSetUrl;
+    this.refreshIntervalMs = refreshInterval.toMillis();
+    this.minRefetchIntervalMs = minRefetchInterval.toMillis();
+    this.timeoutMs = (int) timeout.toMillis();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "jwk-set-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.scheduler.scheduleWithFixedDelay(
+        this::refreshQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+    Snapshot current = snapshot.get();
+    if (current == null) {
+      current = initialLoad();
+    } else if (System.currentTimeMillis() - current.fetchedAt() > refreshIntervalMs) {
+      triggerRefresh();
+    }
+
+    List<JWK> matches = select(current, jwkSelector);
+    if (matches.isEmpty() && hasUnknownKid(current, jwkSelector)) {
+      triggerUnknownKidRefetch();
+    }
+    return matches;
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private synchronized Snapshot initialLoad() throws KeySourceException {
+    Snapshot current = snapshot.get();
+    if (current != null) {
+      return current;
+    }
+    long now = System.currentTimeMillis();
+    if (lastInitialLoadFailure != null && now - lastInitialLoadAttempt < minRefetchIntervalMs) {
+      // Endpoint đang lỗi: không gọi lại trước minRefetchInterval
+      throw new KeySourceException(
+          "Couldn't retrieve JWK set from " + jwkSetUrl + ", retrying later",
+          lastInitialLoadFailure.getCause());
+    }
+    lastInitialLoadAttempt = now;
+    try {
+      Snapshot fresh = refresh();
+      lastInitialLoadFailure = null;
+      return fresh;
+    } catch (Exception e) {
+      lastInitialLoadFailure =
+          new KeySourceException("Couldn't retrieve JWK set from " + jwkSetUrl, e);
+      throw lastInitialLoadFailure;
+    }
+  }
+
+  private Snapshot refresh() throws Exception {
+    JWKSet jwkSet = JWKSet.load(jwkSetUrl, timeoutMs, timeoutMs, SIZE_LIMIT_BYTES);
+    Map<String, JWK> byKid = new HashMap<>();
+    for (JWK jwk : jwkSet.getKeys()) {
+      if (jwk.getKeyID() != null) {
+        byKid.put(jwk.getKeyID(), jwk);
+      }
+    }
+    Snapshot fresh =
+        new Snapshot(jwkSet, Collections.unmodifiableMap(byKid), System.currentTimeMillis());
+    snapshot.set(fresh);
+    return fresh;
+  }
+
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      // Giữ lại bộ key cũ, lần refresh sau sẽ thử lại
+      log.warn("Refresh JWK set from {} failed: {}", jwkSetUrl, e.getMessage());
+    }
+  }
+
+  private void triggerRefresh() {
+    if (refreshing.compareAndSet(false, true)) {
+      try {
+        scheduler.execute(
+            () -> {
+              try {
+                refreshQuietly();
+              } finally {
+                refreshing.set(false);
+              }
+            });
+      } catch (RuntimeException e) {
+        refreshing.set(false);
+      }
+    }
+  }
+
+  private void triggerUnknownKidRefetch() {
+    long now = System.currentTimeMillis();
+    long last = lastUnknownKidRefetch.get();
+    if (now - last >= minRefetchIntervalMs && lastUnknownKidRefetch.compareAndSet(last, now)) {
+      triggerRefresh();
+    }
+  }
+
+  private static List<JWK> select(Snapshot current, JWKSelector jwkSelector) {
+    Set<String> keyIds = jwkSelector.getMatcher().getKeyIDs();
+    if (keyIds != null && keyIds.size() == 1) {
+      JWK jwk = current.byKid().get(keyIds.iterator().next());
+      return jwk != null && jwkSelector.getMatcher().matches(jwk) ? List.of(jwk) : List.of();
+    }
+    return jwkSelector.select(current.jwkSet());
+  }
+
+  private static boolean hasUnknownKid(Snapshot current, JWKSelector jwkSelector) {
+    Set<String> keyIds = jwkSelector.getMatcher().getKeyIDs();
+    if (keyIds == null || keyIds.isEmpty()) {
+      return false;
+    }
+    return keyIds.stream().noneMatch(current.byKid()::containsKey);
+  }
+}
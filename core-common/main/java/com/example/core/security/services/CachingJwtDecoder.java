@@ -0,0 +1,121 @@
+package com.example.core.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import lombok.NonNull;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} that remembers tokens it has already verified.
+ *
+ * <p>Entries are keyed by the SHA-256 digest of the raw token, so the cache never holds bearer
+ * credentials, and each entry expires together with the token's {@code exp} claim. Tokens without
+ * an expiry are verified on every call and never cached.
+ *
+ * <p>Checks that can change while a token is cached, such as revocation, belong in {@link
+ * #setJwtValidator}: that validator runs on every call, cache hit or not.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+  private final JwtDecoder delegate;
+  private final Cache<String, Jwt> cache;
+  private volatile OAuth2TokenValidator<Jwt> jwtValidator;
+
+  public CachingJwtDecoder(@NonNull JwtDecoder delegate, long maximumSize) {
+    this.delegate = delegate;
+    this.cache =
+        Caffeine.newBuilder()
+            .expireAfter(
+                new Expiry<String, Jwt>() {
+                  @Override
+                  public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+                    return remainingNanos(jwt);
+                  }
+
+                  @Override
+                  public long expireAfterUpdate(
+                      String key, Jwt jwt, long currentTime, long currentDuration) {
+                    return remainingNanos(jwt);
+                  }
+
+                  @Override
+                  public long expireAfterRead(
+                      String key, Jwt jwt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                  }
+                })
+            .maximumSize(maximumSize)
+            .build();
+  }
+
+  public void setJwtValidator(OAuth2TokenValidator<Jwt> jwtValidator) {
+    this.jwtValidator = jwtValidator;
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    String key = digest(token);
+    Jwt jwt = cache.getIfPresent(key);
+    if (jwt == null || !isUnexpired(jwt)) {
+      jwt = delegate.decode(token);
+      if (jwt.getExpiresAt() != null) {
+        cache.put(key, jwt);
+      }
+    }
+    return validate(jwt);
+  }
+
+  private Jwt validate(Jwt jwt) {
+    OAuth2TokenValidator<Jwt> validator = this.jwtValidator;
+    if (validator == null) {
+      return jwt;
+    }
+    OAuth2TokenValidatorResult result = validator.validate(jwt);
+    if (result.hasErrors()) {
+      String description = result.getErrors().iterator().next().getDescription();
+      throw new JwtValidationException(description, result.getErrors());
+    }
+    return jwt;
+  }
+
+  public void invalidate(String token) {
+    cache.invalidate(digest(token));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static boolean isUnexpired(Jwt jwt) {
+    return jwt.getExpiresAt() != null && Instant.now().isBefore(jwt.getExpiresAt());
+  }
+
+  private static long remainingNanos(Jwt jwt) {
+    Instant expiresAt = jwt.getExpiresAt();
+    if (expiresAt == null) {
+      return 0;
+    }
+    return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
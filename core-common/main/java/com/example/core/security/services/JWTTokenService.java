@@ -1,83 +1,120 @@
 package com.example.core.security.services;
 
 import com.example.core.security.models.JwtProperties;
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
+import com.example.core.security.models.JwtToken;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import jakarta.annotation.PreDestroy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
-import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
 @Configuration
-@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class JWTTokenService {
   @NonNull JwtProperties jwtProperties;
+  // Keys are parsed once here; every token is signed by the same encoder instance.
+  @NonNull JwtTokenIssuer tokenIssuer;
+  // Shared by getJwt and the resource-server filter chain, so a token is verified only once.
+  @NonNull CachingJwtDecoder tokenDecoder;
+  // Null when the public key is configured directly instead of a jwkSetUri.
+  CachingJwkSource jwkSource;
+  @NonNull TokenRevocationService tokenRevocationService;
+
+  public JWTTokenService(
+      @NonNull JwtProperties jwtProperties,
+      @NonNull TokenRevocationService tokenRevocationService) {
+    this.jwtProperties = jwtProperties;
+    this.tokenRevocationService = tokenRevocationService;
+    this.tokenIssuer = JwtTokenIssuer.from(jwtProperties);
+    this.jwkSource = jwtProperties.emptyJwkSetUri() ? null : createJwkSource(jwtProperties);
+    this.tokenDecoder =
+        new CachingJwtDecoder(createNimbusDecoder(), jwtProperties.getDecoderCacheSize());
+    this.tokenDecoder.setJwtValidator(tokenRevocationService);
+  }
+
+  @PreDestroy
+  public void close() {
+    if (jwkSource != null) {
+      jwkSource.close();
+    }
+  }
 
   public Jwt getJwt(final String token) {
-    return this.jwtDecoder().decode(token);
+    return tokenDecoder.decode(token);
+  }
+
+  /** Revokes the token until its expiry; later decodes of it fail as invalid_token. */
+  public void revokeToken(final String token) {
+    tokenRevocationService.revoke(getJwt(token));
+    tokenDecoder.invalidate(token);
   }
 
   @Bean
   protected JwtDecoder jwtDecoder() {
+    return tokenDecoder;
+  }
+
+  private JwtDecoder createNimbusDecoder() {
     if (jwtProperties.emptyJwkSetUri()) {
       return NimbusJwtDecoder.withPublicKey(jwtProperties.getPublicKey()).build();
-    } else {
-      return NimbusJwtDecoder.withJwkSetUri(jwtProperties.getJwkSetUri()).build();
+    }
+    DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+    jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+    // Claims are validated by NimbusJwtDecoder's OAuth2TokenValidator, as the builder does.
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+    return new NimbusJwtDecoder(jwtProcessor);
+  }
+
+  private static CachingJwkSource createJwkSource(JwtProperties jwtProperties) {
+    try {
+      return new CachingJwkSource(
+          new URL(jwtProperties.getJwkSetUri()),
+          Duration.ofSeconds(jwtProperties.getJwkSetRefreshS()),
+          Duration.ofSeconds(jwtProperties.getJwkSetMinRefetchS()),
+          Duration.ofMillis(jwtProperties.getJwkSetTimeoutMs()));
+    } catch (MalformedURLException e) {
+      throw new IllegalArgumentException(
+          "Invalid jwt.jwkSetUri: " + jwtProperties.getJwkSetUri(), e);
     }
   }
 
   @Bean
   protected JwtEncoder jwtEncoder() {
-    JWK jwk =
-        (new RSAKey.Builder(jwtProperties.getPublicKey()))
-            .privateKey(jwtProperties.getPrivateKey())
-            .build();
-    JWKSource<SecurityContext> jwkSource = new ImmutableJWKSet<>(new JWKSet(jwk));
-    return new NimbusJwtEncoder(jwkSource);
+    return tokenIssuer.getEncoder();
   }
 
   public String createAccessToken(String subject, Map<String, Object> claims) {
-    Instant now = Instant.now();
-    JwtClaimsSet.Builder claimBuilder = JwtClaimsSet.builder();
-    claimBuilder
-        .subject(subject)
-        .issuer(jwtProperties.getIssuer())
-        .issuedAt(now)
-        .expiresAt(now.plusSeconds(jwtProperties.getJwtAccessTokenExpirationS()));
-    Objects.requireNonNull(claimBuilder);
-    claims.forEach(claimBuilder::claim);
-    return jwtEncoder().encode(JwtEncoderParameters.from(claimBuilder.build())).getTokenValue();
+    return tokenIssuer.issue(
+        subject, claims, Instant.now(), jwtProperties.getJwtAccessTokenExpirationS());
   }
 
   public String createRefreshToken(String subject, Map<String, Object> claims) {
+    return tokenIssuer.issue(
+        subject, claims, Instant.now(), jwtProperties.getJwtRefreshExpirationS());
+  }
+
+  /** Issues an access token and a refresh token with the same subject, claims and issue time. */
+  public JwtToken createTokenPair(String subject, Map<String, Object> claims) {
     Instant now = Instant.now();
-    JwtClaimsSet.Builder claimBuilder = JwtClaimsSet.builder();
-    claimBuilder
-        .issuer(this.jwtProperties.getIssuer())
-        .issuedAt(now)
-        .expiresAt(now.plusSeconds(this.jwtProperties.getJwtRefreshExpirationS()))
-        .subject(subject);
-    Objects.requireNonNull(claimBuilder);
-    claims.forEach(claimBuilder::claim);
-    return this.jwtEncoder()
-        .encode(JwtEncoderParameters.from(claimBuilder.build()))
-        .getTokenValue();
+    return JwtToken.builder()
+        .accessToken(
+            tokenIssuer.issue(subject, claims, now, jwtProperties.getJwtAccessTokenExpirationS()))
+        .refreshToken(
+            tokenIssuer.issue(subject, claims, now, jwtProperties.getJwtRefreshExpirationS()))
+        .build();
   }
 }
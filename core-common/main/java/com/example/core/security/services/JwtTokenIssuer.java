@@ -0,0 +1,62 @@
+package com.example.core.security.services;
+
+import com.example.core.security.models.JwtProperties;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Issues signed JWTs from a single, pre-keyed encoder.
+ *
+ * <p>The PEM keys are parsed once when the issuer is created. {@link NimbusJwtEncoder} caches the
+ * RSA signer per JWK internally and is thread-safe, so one instance is shared by every request.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class JwtTokenIssuer {
+  @Getter JwtEncoder encoder;
+  String issuer;
+
+  public JwtTokenIssuer(
+      @NonNull RSAPublicKey publicKey, @NonNull RSAPrivateKey privateKey, String issuer) {
+    RSAKey jwk = new RSAKey.Builder(publicKey).privateKey(privateKey).build();
+    this.encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+    this.issuer = issuer;
+  }
+
+  public static JwtTokenIssuer from(JwtProperties jwtProperties) {
+    return new JwtTokenIssuer(
+        jwtProperties.getPublicKey(), jwtProperties.getPrivateKey(), jwtProperties.getIssuer());
+  }
+
+  public String issue(
+      String subject, Map<String, Object> claims, Instant issuedAt, long ttlSeconds) {
+    JwtClaimsSet.Builder claimBuilder =
+        JwtClaimsSet.builder()
+            .subject(subject)
+            .issuer(issuer)
+            .issuedAt(issuedAt)
+            .expiresAt(issuedAt.plusSeconds(ttlSeconds));
+    if (claims != null) {
+      claims.forEach(claimBuilder::claim);
+    }
+    if (claims == null || !claims.containsKey(JwtClaimNames.JTI)) {
+      // jti is the key used by TokenRevocationService
+      claimBuilder.id(UUID.randomUUID().toString());
+    }
+    return encoder.encode(JwtEncoderParameters.from(claimBuilder.build())).getTokenValue();
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.core.security.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+/** Publishes {@link PasswordHashingService} pool and queue statistics to Micrometer. */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class PasswordHashingMetrics implements MeterBinder {
+  private final PasswordHashingService service;
+
+  public PasswordHashingMetrics(@NonNull PasswordHashingService service) {
+    this.service = service;
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    Gauge.builder("password.hashing.active", service, PasswordHashingService::getActiveCount)
+        .description("Password hashes currently running")
+        .register(registry);
+    Gauge.builder("password.hashing.queued", service, PasswordHashingService::getQueueSize)
+        .description("Password hashes waiting for a thread")
+        .register(registry);
+    FunctionCounter.builder(
+            "password.hashing.rejected", service, PasswordHashingService::getRejectedCount)
+        .description("Password hashes rejected because the queue was full")
+        .register(registry);
+    FunctionCounter.builder(
+            "password.hashing.rehashed", service, PasswordHashingService::getRehashCount)
+        .description("Outdated password hashes upgraded on login")
+        .register(registry);
+    FunctionCounter.builder(
+            "password.hashing.rehash.failed",
+            service,
+            PasswordHashingService::getRehashFailureCount)
+        .description("Outdated password hashes that could not be upgraded or stored")
+        .register(registry);
+    FunctionTimer.builder(
+            "password.hashing.queue.wait",
+            service,
+            PasswordHashingService::getCompletedCount,
+            PasswordHashingService::getQueueWaitNanos,
+            TimeUnit.NANOSECONDS)
+        .description("Time spent waiting in the hashing queue")
+        .register(registry);
+  }
+}
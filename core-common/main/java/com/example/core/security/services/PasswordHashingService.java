@@ -0,0 +1,176 @@
+package com.example.core.security.services;
+
+import com.example.core.common.exceptions.UnavailableException;
+import com.example.core.security.CustomPasswordEncoder;
+import com.example.core.security.models.PasswordHashingProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs password hashing off the servlet threads.
+ *
+ * <p>BCrypt work is executed on a dedicated, bounded pool: at most {@code core.password.threads}
+ * hashes run at once and at most {@code core.password.queue-capacity} wait behind them. When the
+ * queue is full the returned future fails with {@link UnavailableException} (503) instead of tying
+ * up more request threads.
+ *
+ * <p>{@link #verifyAsync} also re-hashes a matching password whose hash was produced with an older
+ * cost or BCrypt version, and hands the new hash to the caller to store. The re-hash runs after the
+ * result has been returned, and the store callback runs on its own thread, so neither delays the
+ * login nor can fail it; failures are logged and counted.
+ */
+@Slf4j
+@Component
+public class PasswordHashingService {
+  private final CustomPasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  // Chạy callback lưu hash mới (thường ghi DB), tách khỏi pool hashing
+  private final ThreadPoolExecutor rehashExecutor;
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder completedCount = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+  private final LongAdder rehashCount = new LongAdder();
+  private final LongAdder rehashFailureCount = new LongAdder();
+
+  public PasswordHashingService(
+      @NonNull CustomPasswordEncoder passwordEncoder,
+      @NonNull PasswordHashingProperties properties) {
+    this.passwordEncoder = passwordEncoder;
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            properties.getThreads(),
+            properties.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.rehashExecutor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "password-rehash");
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+    rehashExecutor.shutdown();
+  }
+
+  public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+    return submit(() -> passwordEncoder.encode(rawPassword));
+  }
+
+  public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+    return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * Checks the password and, when it matches but the stored hash is outdated, re-hashes it with the
+   * current settings and passes the new hash to {@code onRehash}. The future completes as soon as
+   * the password is checked; the re-hash and {@code onRehash} run afterwards on their own, and an
+   * error in either is only logged.
+   */
+  public CompletableFuture<Boolean> verifyAsync(
+      CharSequence rawPassword, String encodedPassword, Consumer<String> onRehash) {
+    return matchesAsync(rawPassword, encodedPassword)
+        .thenApply(
+            matches -> {
+              if (matches && passwordEncoder.upgradeEncoding(encodedPassword)) {
+                rehash(rawPassword, onRehash);
+              }
+              return matches;
+            });
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public int getQueueSize() {
+    return executor.getQueue().size();
+  }
+
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  public long getCompletedCount() {
+    return completedCount.sum();
+  }
+
+  public long getQueueWaitNanos() {
+    return queueWaitNanos.sum();
+  }
+
+  public long getRehashCount() {
+    return rehashCount.sum();
+  }
+
+  public long getRehashFailureCount() {
+    return rehashFailureCount.sum();
+  }
+
+  private void rehash(CharSequence rawPassword, Consumer<String> onRehash) {
+    encodeAsync(rawPassword)
+        .thenAcceptAsync(onRehash, rehashExecutor)
+        .whenComplete(
+            (ignored, error) -> {
+              if (error == null) {
+                rehashCount.increment();
+              } else {
+                // Không ảnh hưởng đăng nhập: hash cũ vẫn dùng được, lần sau sẽ thử lại
+                rehashFailureCount.increment();
+                log.warn("Could not upgrade outdated password hash", error);
+              }
+            });
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> task) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    long enqueuedAt = System.nanoTime();
+    try {
+      executor.execute(
+          () -> {
+            queueWaitNanos.add(System.nanoTime() - enqueuedAt);
+            try {
+              future.complete(task.get());
+            } catch (RuntimeException e) {
+              future.completeExceptionally(e);
+            } finally {
+              completedCount.increment();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      rejectedCount.increment();
+      future.completeExceptionally(new UnavailableException());
+    }
+    return future;
+  }
+}
@@ -0,0 +1,143 @@
+package com.example.core.security.services;
+
+import com.example.core.cache.BloomFilter;
+import com.example.core.cache.IRevocationStore;
+import com.example.core.security.models.JwtProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token revocation list keyed by the {@code jti} claim.
+ *
+ * <p>Revoked ids live in a dedicated {@link IRevocationStore} that keeps every entry until the
+ * token's {@code exp} (Redis when {@code core.cache.redis.enable} is on, so all nodes share it). A
+ * {@link BloomFilter} sits in front of the store: for a token that was never revoked the check is
+ * answered by the filter alone, without a store lookup.
+ *
+ * <p>The filter is only trusted once it has been loaded from {@link IRevocationStore#active()};
+ * until then every check goes to the store. Ids revoked on other nodes are added as they are
+ * published, and the filter is rebuilt from the store every {@code jwt.revocation-resync-s} seconds
+ * to pick up missed messages and to forget expired ids.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService implements OAuth2TokenValidator<Jwt> {
+  private static final OAuth2Error REVOKED =
+      new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, "Token has been revoked", null);
+
+  private final IRevocationStore revocationStore;
+  private final long expectedRevocations;
+  private final double falsePositiveRate;
+  private final long resyncS;
+  private final Object filterLock = new Object();
+
+  // null khi chưa load từ store -> luôn hỏi store
+  private volatile BloomFilter filter;
+  // Filter đang được dựng lại, nhận cả các id thu hồi trong lúc load (guarded by filterLock)
+  private BloomFilter loading;
+  private ScheduledExecutorService resyncExecutor;
+
+  public TokenRevocationService(
+      @NonNull IRevocationStore revocationStore, @NonNull JwtProperties jwtProperties) {
+    this.revocationStore = revocationStore;
+    this.expectedRevocations = jwtProperties.getRevocationExpectedInsertions();
+    this.falsePositiveRate = jwtProperties.getRevocationFalsePositiveRate();
+    this.resyncS = Math.max(1, jwtProperties.getRevocationResyncS());
+  }
+
+  @PostConstruct
+  public void start() {
+    revocationStore.subscribe(this::remember);
+    resyncExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "token-revocation-resync");
+              thread.setDaemon(true);
+              return thread;
+            });
+    resyncExecutor.scheduleWithFixedDelay(this::reload, 0, resyncS, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (resyncExecutor != null) {
+      resyncExecutor.shutdownNow();
+    }
+  }
+
+  public void revoke(Jwt jwt) {
+    revoke(jwt.getId(), jwt.getExpiresAt());
+  }
+
+  public void revoke(String jti, Instant expiresAt) {
+    if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+      return; // token đã hết hạn, không cần thu hồi
+    }
+    // Ghi store trước: khi filter báo có thì store chắc chắn đã có entry
+    revocationStore.revoke(jti, expiresAt);
+    remember(jti);
+  }
+
+  public boolean isRevoked(String jti) {
+    if (jti == null) {
+      return false;
+    }
+    BloomFilter loaded = filter;
+    if (loaded != null && !loaded.mightContain(jti)) {
+      return false;
+    }
+    return revocationStore.isRevoked(jti);
+  }
+
+  @Override
+  public OAuth2TokenValidatorResult validate(Jwt jwt) {
+    return isRevoked(jwt.getId())
+        ? OAuth2TokenValidatorResult.failure(REVOKED)
+        : OAuth2TokenValidatorResult.success();
+  }
+
+  /** Rebuilds the filter from the ids the store still holds. */
+  public void reload() {
+    BloomFilter next = new BloomFilter(expectedRevocations, falsePositiveRate);
+    synchronized (filterLock) {
+      loading = next;
+    }
+    try {
+      revocationStore.active().forEach(next::put);
+      synchronized (filterLock) {
+        filter = next;
+      }
+    } catch (RuntimeException e) {
+      // Giữ filter cũ (hoặc tiếp tục hỏi store nếu chưa có); lần resync sau sẽ thử lại
+      log.warn("Could not reload revoked token ids", e);
+    } finally {
+      synchronized (filterLock) {
+        loading = null;
+      }
+    }
+  }
+
+  private void remember(String jti) {
+    synchronized (filterLock) {
+      BloomFilter loaded = filter;
+      if (loaded != null) {
+        loaded.put(jti);
+      }
+      if (loading != null) {
+        loading.put(jti);
+      }
+    }
+  }
+}
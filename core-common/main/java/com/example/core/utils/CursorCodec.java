@@ -0,0 +1,277 @@
+package com.example.core.utils;
+
+import com.example.core.common.constants.CoreErrorCodes;
+import com.example.core.common.exceptions.ApplicationException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes a {@link KeysetScrollPosition} into an opaque, HMAC-SHA256 signed cursor string and back.
+ *
+ * <p>Key values keep their Java type (numbers, strings, UUIDs, java.time types, enums...) so the
+ * decoded position can be bound directly as the seek predicate. A cursor is only accepted for the
+ * same sort properties it was created with.
+ *
+ * <p>Set {@code core.pagination.cursor-secret} so cursors stay valid across restarts and nodes;
+ * without it a random per-process key is used.
+ */
+@Slf4j
+@Component
+public class CursorCodec {
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final byte VERSION = 1;
+  private static final int MAC_LENGTH = 32;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte LONG = 2;
+  private static final byte INTEGER = 3;
+  private static final byte SHORT = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte FLOAT = 6;
+  private static final byte BOOLEAN = 7;
+  private static final byte BIG_DECIMAL = 8;
+  private static final byte BIG_INTEGER = 9;
+  private static final byte UUID_VALUE = 10;
+  private static final byte INSTANT = 11;
+  private static final byte LOCAL_DATE = 12;
+  private static final byte LOCAL_DATE_TIME = 13;
+  private static final byte LOCAL_TIME = 14;
+  private static final byte OFFSET_DATE_TIME = 15;
+  private static final byte ZONED_DATE_TIME = 16;
+  private static final byte DATE = 17;
+  private static final byte ENUM = 18;
+
+  private final SecretKeySpec key;
+  private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+  public CursorCodec(@Value("${core.pagination.cursor-secret:}") String secret) {
+    byte[] keyBytes;
+    if (secret == null || secret.isBlank()) {
+      keyBytes = new byte[32];
+      new SecureRandom().nextBytes(keyBytes);
+      log.warn(
+          "core.pagination.cursor-secret is not set: cursors are only valid on this instance"
+              + " until restart");
+    } else {
+      keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+    }
+    this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+  }
+
+  public String encode(KeysetScrollPosition position) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeByte(VERSION);
+      out.writeBoolean(position.scrollsForward());
+      Map<String, Object> keys = position.getKeys();
+      out.writeShort(keys.size());
+      for (Map.Entry<String, Object> entry : keys.entrySet()) {
+        out.writeUTF(entry.getKey());
+        writeValue(out, entry.getValue());
+      }
+      out.write(macs.get().doFinal(bytes.toByteArray()));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not encode cursor", e);
+    }
+  }
+
+  /**
+   * Decodes {@code cursor} and checks that its keys are exactly the properties of {@code sort}, in
+   * order.
+   *
+   * @throws ApplicationException (400) if the cursor is malformed, tampered with or was created for
+   *     another sort
+   */
+  public KeysetScrollPosition decode(String cursor, Sort sort) {
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw invalidCursor();
+    }
+    if (bytes.length <= MAC_LENGTH) {
+      throw invalidCursor();
+    }
+    int payloadLength = bytes.length - MAC_LENGTH;
+    Mac mac = macs.get();
+    mac.update(bytes, 0, payloadLength);
+    byte[] expected = mac.doFinal();
+    if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, payloadLength, bytes.length))) {
+      throw invalidCursor();
+    }
+
+    Map<String, Object> keys = new LinkedHashMap<>();
+    boolean forward;
+    try {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, payloadLength));
+      if (in.readByte() != VERSION) {
+        throw invalidCursor();
+      }
+      forward = in.readBoolean();
+      int size = in.readUnsignedShort();
+      for (int i = 0; i < size; i++) {
+        keys.put(in.readUTF(), readValue(in));
+      }
+    } catch (IOException | ReflectiveOperationException | IllegalArgumentException e) {
+      throw invalidCursor();
+    }
+
+    List<String> properties = sort.stream().map(Sort.Order::getProperty).toList();
+    if (!properties.equals(List.copyOf(keys.keySet()))) {
+      throw invalidCursor();
+    }
+    return forward ? ScrollPosition.forward(keys) : ScrollPosition.backward(keys);
+  }
+
+  private Mac newMac() {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(ALGORITHM + " is not available", e);
+    }
+  }
+
+  private static ApplicationException invalidCursor() {
+    return new ApplicationException(
+        CoreErrorCodes.REQUEST_INVALID, "Invalid cursor", HttpStatus.BAD_REQUEST);
+  }
+
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String v) {
+      out.writeByte(STRING);
+      out.writeUTF(v);
+    } else if (value instanceof Long v) {
+      out.writeByte(LONG);
+      out.writeLong(v);
+    } else if (value instanceof Integer v) {
+      out.writeByte(INTEGER);
+      out.writeInt(v);
+    } else if (value instanceof Short v) {
+      out.writeByte(SHORT);
+      out.writeShort(v);
+    } else if (value instanceof Double v) {
+      out.writeByte(DOUBLE);
+      out.writeDouble(v);
+    } else if (value instanceof Float v) {
+      out.writeByte(FLOAT);
+      out.writeFloat(v);
+    } else if (value instanceof Boolean v) {
+      out.writeByte(BOOLEAN);
+      out.writeBoolean(v);
+    } else if (value instanceof BigDecimal v) {
+      out.writeByte(BIG_DECIMAL);
+      out.writeUTF(v.toString());
+    } else if (value instanceof BigInteger v) {
+      out.writeByte(BIG_INTEGER);
+      out.writeUTF(v.toString());
+    } else if (value instanceof UUID v) {
+      out.writeByte(UUID_VALUE);
+      out.writeLong(v.getMostSignificantBits());
+      out.writeLong(v.getLeastSignificantBits());
+    } else if (value instanceof Instant v) {
+      out.writeByte(INSTANT);
+      out.writeLong(v.getEpochSecond());
+      out.writeInt(v.getNano());
+    } else if (value instanceof LocalDate v) {
+      out.writeByte(LOCAL_DATE);
+      out.writeLong(v.toEpochDay());
+    } else if (value instanceof LocalDateTime v) {
+      out.writeByte(LOCAL_DATE_TIME);
+      out.writeLong(v.toLocalDate().toEpochDay());
+      out.writeLong(v.toLocalTime().toNanoOfDay());
+    } else if (value instanceof LocalTime v) {
+      out.writeByte(LOCAL_TIME);
+      out.writeLong(v.toNanoOfDay());
+    } else if (value instanceof OffsetDateTime v) {
+      out.writeByte(OFFSET_DATE_TIME);
+      out.writeUTF(v.toString());
+    } else if (value instanceof ZonedDateTime v) {
+      out.writeByte(ZONED_DATE_TIME);
+      out.writeUTF(v.toString());
+    } else if (value instanceof Date v) {
+      out.writeByte(DATE);
+      out.writeLong(v.getTime());
+    } else if (value instanceof Enum<?> v) {
+      out.writeByte(ENUM);
+      out.writeUTF(v.getDeclaringClass().getName());
+      out.writeUTF(v.name());
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported cursor key type: " + value.getClass().getName());
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object readValue(DataInputStream in)
+      throws IOException, ReflectiveOperationException {
+    byte type = in.readByte();
+    return switch (type) {
+      case NULL -> null;
+      case STRING -> in.readUTF();
+      case LONG -> in.readLong();
+      case INTEGER -> in.readInt();
+      case SHORT -> in.readShort();
+      case DOUBLE -> in.readDouble();
+      case FLOAT -> in.readFloat();
+      case BOOLEAN -> in.readBoolean();
+      case BIG_DECIMAL -> new BigDecimal(in.readUTF());
+      case BIG_INTEGER -> new BigInteger(in.readUTF());
+      case UUID_VALUE -> new UUID(in.readLong(), in.readLong());
+      case INSTANT -> Instant.ofEpochSecond(in.readLong(), in.readInt());
+      case LOCAL_DATE -> LocalDate.ofEpochDay(in.readLong());
+      case LOCAL_DATE_TIME -> LocalDateTime.of(
+          LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+      case LOCAL_TIME -> LocalTime.ofNanoOfDay(in.readLong());
+      case OFFSET_DATE_TIME -> OffsetDateTime.parse(in.readUTF());
+      case ZONED_DATE_TIME -> ZonedDateTime.parse(in.readUTF());
+      case DATE -> new Date(in.readLong());
+      case ENUM -> {
+        // Cursor đã được xác thực HMAC nên tên class là do server tạo ra
+        Class<?> enumType = Class.forName(in.readUTF(), false, CursorCodec.class.getClassLoader());
+        if (!enumType.isEnum()) {
+          throw new IllegalArgumentException("Not an enum: " + enumType.getName());
+        }
+        yield Enum.valueOf((Class<? extends Enum>) enumType, in.readUTF());
+      }
+      default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+    };
+  }
+}
@@ -0,0 +1,157 @@
+package com.example.core.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Removes diacritics (Vietnamese and other Latin accents, {@code đ/Đ}) in a single pass over the
+ * input, optionally lower-casing at the same time.
+ *
+ * <p>The result is the same as NFD normalization, stripping the Combining Diacritical Marks block
+ * and mapping {@code đ/Đ} to {@code d/D} (then {@link String#toLowerCase(Locale)} with {@link
+ * Locale#ROOT}). The per-character lookup tables for {@code U+0000..U+1EFF} are generated from that
+ * algorithm when the class is loaded. Characters whose result depends on their neighbours (other
+ * combining marks that NFD would reorder, final sigma) or that lie outside the tables send the
+ * whole string through the original algorithm. Pure ASCII input that needs no change is returned as
+ * is.
+ */
+public final class DiacriticFolding {
+  private static final int TABLE_SIZE = 0x1F00;
+  // Giá trị trong bảng single: ký tự kết quả cần tra bảng multi (rỗng, nhiều ký tự, hoặc fallback)
+  private static final char MULTI = '\uFFFF';
+  private static final Pattern COMBINING_MARKS =
+      Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+  private static final char[] FOLD_SINGLE = new char[TABLE_SIZE];
+  private static final String[] FOLD_MULTI = new String[TABLE_SIZE];
+  private static final char[] FOLD_LOWER_SINGLE = new char[TABLE_SIZE];
+  private static final String[] FOLD_LOWER_MULTI = new String[TABLE_SIZE];
+
+  static {
+    for (char c = 0; c < TABLE_SIZE; c++) {
+      if (dependsOnContext(c)) {
+        // null trong bảng multi = fallback về thuật toán gốc
+        FOLD_SINGLE[c] = MULTI;
+        FOLD_LOWER_SINGLE[c] = MULTI;
+        continue;
+      }
+      String folded = legacyFold(String.valueOf(c));
+      put(FOLD_SINGLE, FOLD_MULTI, c, folded);
+      if (c == '\u03A3') {
+        // Σ -> σ hoặc ς tuỳ vị trí trong từ
+        FOLD_LOWER_SINGLE[c] = MULTI;
+      } else {
+        put(FOLD_LOWER_SINGLE, FOLD_LOWER_MULTI, c, folded.toLowerCase(Locale.ROOT));
+      }
+    }
+  }
+
+  private DiacriticFolding() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  /** Removes diacritics; {@code null} becomes an empty string. */
+  public static String fold(String input) {
+    return fold(input, FOLD_SINGLE, FOLD_MULTI, false);
+  }
+
+  /** Removes diacritics and lower-cases ({@link Locale#ROOT}); {@code null} becomes "". */
+  public static String foldLowerCase(String input) {
+    return fold(input, FOLD_LOWER_SINGLE, FOLD_LOWER_MULTI, true);
+  }
+
+  private static String fold(String input, char[] single, String[] multi, boolean lowerCase) {
+    if (input == null) {
+      return "";
+    }
+    int length = input.length();
+    int i = 0;
+    while (i < length) {
+      char c = input.charAt(i);
+      if (c >= 0x80 || (lowerCase && c >= 'A' && c <= 'Z')) {
+        break;
+      }
+      i++;
+    }
+    if (i == length) {
+      return input;
+    }
+
+    char[] out = new char[length + 16];
+    input.getChars(0, i, out, 0);
+    int n = i;
+    for (; i < length; i++) {
+      char c = input.charAt(i);
+      if (c >= TABLE_SIZE) {
+        return legacy(input, lowerCase);
+      }
+      char mapped = single[c];
+      if (mapped != MULTI) {
+        out[n++] = mapped;
+        continue;
+      }
+      String replacement = multi[c];
+      if (replacement == null) {
+        return legacy(input, lowerCase);
+      }
+      int needed = n + replacement.length() + (length - i);
+      if (needed > out.length) {
+        char[] grown = new char[Math.max(needed, out.length * 2)];
+        System.arraycopy(out, 0, grown, 0, n);
+        out = grown;
+      }
+      replacement.getChars(0, replacement.length(), out, n);
+      n += replacement.length();
+    }
+    return new String(out, 0, n);
+  }
+
+  private static void put(char[] single, String[] multi, char c, String mapped) {
+    if (mapped.length() == 1 && mapped.charAt(0) != MULTI) {
+      single[c] = mapped.charAt(0);
+    } else {
+      single[c] = MULTI;
+      multi[c] = mapped;
+    }
+  }
+
+  /**
+   * Whether NFD of {@code c} contains a combining mark outside U+0300..U+036F: NFD may reorder such
+   * marks across neighbouring characters, so {@code c} cannot be folded on its own.
+   */
+  private static boolean dependsOnContext(char c) {
+    if (Character.isSurrogate(c)) {
+      return true;
+    }
+    String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+    for (int i = 0; i < decomposed.length(); i++) {
+      char d = decomposed.charAt(i);
+      if (isMark(d) && (d < '\u0300' || d > '\u036F')) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isMark(char c) {
+    int type = Character.getType(c);
+    return type == Character.NON_SPACING_MARK
+        || type == Character.ENCLOSING_MARK
+        || type == Character.COMBINING_SPACING_MARK;
+  }
+
+  private static String legacy(String input, boolean lowerCase) {
+    String folded = legacyFold(input);
+    return lowerCase ? folded.toLowerCase(Locale.ROOT) : folded;
+  }
+
+  /** The original algorithm; also the source of the lookup tables. */
+  static String legacyFold(String input) {
+    return COMBINING_MARKS
+        .matcher(Normalizer.normalize(input, Normalizer.Form.NFD))
+        .replaceAll("")
+        .replace("đ", "d")
+        .replace("Đ", "D");
+  }
+}
@@ -2,30 +2,260 @@ package com.example.core.utils;
 
 import com.example.core.common.constants.CoreErrorCodes;
 import com.example.core.common.exceptions.ApplicationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Shared JSON (de)serialization.
+ *
+ * <p>All calls go through one configured {@link ObjectMapper}. {@link ObjectReader}/{@link
+ * ObjectWriter} instances are immutable and thread-safe, so one is built per target type and
+ * reused, which skips the per-call root type resolution of {@code mapper.readValue(...)}.
+ *
+ * <p>If {@code com.fasterxml.jackson.module:jackson-module-blackbird} is on the classpath its
+ * module is registered, replacing reflective property access with generated lambdas.
+ *
+ * <p>{@link #toCbor}/{@link #fromCbor} use a CBOR mapper with the same configuration, producing the
+ * same data model as the JSON methods in a smaller binary encoding.
+ */
+@Slf4j
 public final class JsonHelper {
-  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final String BLACKBIRD_MODULE =
+      "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+  private static final ObjectMapper mapper = configure(new ObjectMapper());
+  private static final ObjectMapper cborMapper = configure(new CBORMapper());
+
+  private static final ClassValue<ObjectReader> READERS =
+      new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+          return mapper.readerFor(type);
+        }
+      };
+
+  private static final ClassValue<ObjectWriter> WRITERS =
+      new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+          return mapper.writerFor(type);
+        }
+      };
+
+  private static final ClassValue<ObjectReader> CBOR_READERS =
+      new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+          return cborMapper.readerFor(type);
+        }
+      };
+
+  private static final ClassValue<ObjectWriter> CBOR_WRITERS =
+      new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+          return cborMapper.writerFor(type);
+        }
+      };
+
+  // TypeReference là anonymous class mới mỗi lần gọi -> cache theo Type, không theo instance
+  private static final Map<Type, ObjectReader> TYPE_READERS = new ConcurrentHashMap<>();
+  private static final Map<Type, ObjectReader> CBOR_TYPE_READERS = new ConcurrentHashMap<>();
 
   private JsonHelper() {
     throw new UnsupportedOperationException("Utility class should not be instantiated");
   }
 
+  /** The shared mapper. Do not reconfigure it: cached readers/writers would not see the change. */
+  public static ObjectMapper mapper() {
+    return mapper;
+  }
+
+  /** The shared CBOR mapper, configured like {@link #mapper()}. */
+  public static ObjectMapper cborMapper() {
+    return cborMapper;
+  }
+
+  public static ObjectReader reader(Class<?> type) {
+    return READERS.get(type);
+  }
+
+  public static ObjectReader reader(TypeReference<?> type) {
+    return TYPE_READERS.computeIfAbsent(
+        type.getType(), t -> mapper.readerFor(mapper.getTypeFactory().constructType(t)));
+  }
+
+  public static ObjectWriter writer(Class<?> type) {
+    return WRITERS.get(type);
+  }
+
+  /** Serializes {@code obj}; returns an empty string (and logs) if serialization fails. */
   public static String toJson(Object obj) {
     try {
-      return mapper.writeValueAsString(obj);
+      return writerFor(obj).writeValueAsString(obj);
     } catch (Exception e) {
+      log.warn("Error serialize JSON for {}", typeName(obj), e);
       return "";
     }
   }
 
+  public static byte[] toJsonBytes(Object obj) {
+    try {
+      return writerFor(obj).writeValueAsBytes(obj);
+    } catch (Exception e) {
+      throw writeError(obj, e);
+    }
+  }
+
+  /** Writes {@code obj} to {@code out} without closing it. */
+  public static void writeJson(OutputStream out, Object obj) {
+    try {
+      writerFor(obj).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, obj);
+    } catch (Exception e) {
+      throw writeError(obj, e);
+    }
+  }
+
   public static <T> T fromJson(String json, Class<T> clazz) {
     try {
-      return mapper.readValue(json, clazz);
+      return reader(clazz).readValue(json);
+    } catch (Exception e) {
+      throw readError(e);
+    }
+  }
+
+  public static <T> T fromJson(String json, TypeReference<T> type) {
+    try {
+      return reader(type).readValue(json);
+    } catch (Exception e) {
+      throw readError(e);
+    }
+  }
+
+  public static <T> T fromJson(byte[] json, Class<T> clazz) {
+    try {
+      return reader(clazz).readValue(json);
+    } catch (Exception e) {
+      throw readError(e);
+    }
+  }
+
+  public static <T> T fromJson(byte[] json, TypeReference<T> type) {
+    try {
+      return reader(type).readValue(json);
     } catch (Exception e) {
-      throw new ApplicationException(
-          CoreErrorCodes.CONFLICT, "Error parse JSON", HttpStatus.BAD_REQUEST);
+      throw readError(e);
+    }
+  }
+
+  /** Reads a value from {@code in}; the stream is not closed. */
+  public static <T> T fromJson(InputStream in, Class<T> clazz) {
+    try {
+      return reader(clazz).without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readValue(in);
+    } catch (Exception e) {
+      throw readError(e);
+    }
+  }
+
+  /** Reads a value from {@code in}; the stream is not closed. */
+  public static <T> T fromJson(InputStream in, TypeReference<T> type) {
+    try {
+      return reader(type).without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readValue(in);
+    } catch (Exception e) {
+      throw readError(e);
+    }
+  }
+
+  public static byte[] toCbor(Object obj) {
+    try {
+      return obj == null
+          ? cborMapper.writeValueAsBytes(null)
+          : CBOR_WRITERS.get(obj.getClass()).writeValueAsBytes(obj);
+    } catch (Exception e) {
+      throw writeError(obj, e);
+    }
+  }
+
+  public static <T> T fromCbor(byte[] cbor, Class<T> clazz) {
+    try {
+      return CBOR_READERS.get(clazz).readValue(cbor);
+    } catch (Exception e) {
+      throw readError(e);
+    }
+  }
+
+  public static <T> T fromCbor(byte[] cbor, TypeReference<T> type) {
+    try {
+      return CBOR_TYPE_READERS
+          .computeIfAbsent(
+              type.getType(),
+              t -> cborMapper.readerFor(cborMapper.getTypeFactory().constructType(t)))
+          .readValue(cbor);
+    } catch (Exception e) {
+      throw readError(e);
+    }
+  }
+
+  private static ObjectWriter writerFor(Object obj) {
+    return obj == null ? mapper.writer() : WRITERS.get(obj.getClass());
+  }
+
+  private static String typeName(Object obj) {
+    return obj == null ? "null" : obj.getClass().getName();
+  }
+
+  private static ApplicationException readError(Exception e) {
+    log.debug("Error parse JSON", e);
+    return new ApplicationException(
+        CoreErrorCodes.CONFLICT, "Error parse JSON", HttpStatus.BAD_REQUEST);
+  }
+
+  private static ApplicationException writeError(Object obj, Exception e) {
+    log.warn("Error serialize JSON for {}", typeName(obj), e);
+    return new ApplicationException(
+        CoreErrorCodes.SYSTEM_ERROR, "Error serialize JSON", HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
+  private static ObjectMapper configure(ObjectMapper objectMapper) {
+    objectMapper
+        .registerModule(new JavaTimeModule())
+        .registerModule(new Jdk8Module())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    Module blackbird = optionalModule(BLACKBIRD_MODULE);
+    if (blackbird != null) {
+      objectMapper.registerModule(blackbird);
+    }
+    return objectMapper;
+  }
+
+  private static Module optionalModule(String className) {
+    try {
+      Class<?> type = Class.forName(className, true, JsonHelper.class.getClassLoader());
+      return (Module) type.getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (ReflectiveOperationException | LinkageError e) {
+      log.warn("Could not register Jackson module {}", className, e);
+      return null;
     }
   }
 }
@@ -0,0 +1,42 @@
+package com.example.core.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Lock-free fixed-window limiter for log statements: at most {@code permitsPerSecond} calls to
+ * {@link #tryAcquire()} succeed per second. Calls that were denied are counted so the next
+ * permitted log line can report how many were dropped.
+ */
+public final class LogRateLimiter {
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final IntSupplier permitsPerSecond;
+  private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+  private final AtomicInteger used = new AtomicInteger();
+  private final AtomicLong suppressed = new AtomicLong();
+
+  public LogRateLimiter(IntSupplier permitsPerSecond) {
+    this.permitsPerSecond = permitsPerSecond;
+  }
+
+  public boolean tryAcquire() {
+    long current = System.nanoTime() / WINDOW_NANOS;
+    long previous = window.get();
+    if (previous != current && window.compareAndSet(previous, current)) {
+      used.set(0);
+    }
+    if (used.incrementAndGet() <= permitsPerSecond.getAsInt()) {
+      return true;
+    }
+    suppressed.incrementAndGet();
+    return false;
+  }
+
+  /** Number of denied calls since the last invocation of this method. */
+  public long drainSuppressed() {
+    return suppressed.getAndSet(0);
+  }
+}
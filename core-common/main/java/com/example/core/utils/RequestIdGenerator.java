@@ -0,0 +1,32 @@
+package com.example.core.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time-ordered request ids in the UUID version 7 layout: 48 bits of Unix epoch
+ * milliseconds followed by 74 random bits.
+ *
+ * <p>Randomness comes from {@link ThreadLocalRandom}, so there is no shared state between threads
+ * (unlike {@link UUID#randomUUID()}, which serializes on a single {@code SecureRandom}). Ids sort
+ * by creation millisecond; they are unique enough for correlation but are not secrets.
+ */
+public final class RequestIdGenerator {
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_IETF = 0x8000000000000000L;
+
+  private RequestIdGenerator() {
+    throw new UnsupportedOperationException("Utility class should not be instantiated");
+  }
+
+  public static UUID nextUuid() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long msb = (System.currentTimeMillis() << 16) | VERSION_7 | (random.nextLong() & 0x0FFFL);
+    long lsb = (random.nextLong() >>> 2) | VARIANT_IETF;
+    return new UUID(msb, lsb);
+  }
+
+  public static String next() {
+    return nextUuid().toString();
+  }
+}
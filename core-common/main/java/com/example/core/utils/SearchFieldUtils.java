@@ -1,12 +1,69 @@
 package com.example.core.utils;
 
+import com.example.core.common.annotations.SearchText;
 import com.example.core.common.annotations.SearchableField;
+import com.example.core.common.interfaces.ISearchStringBuilder;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.text.Normalizer;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 public final class SearchFieldUtils {
+  private static final String GENERATED_SUFFIX = "SearchStringBuilder";
+
+  /** One {@link SearchableField}: a getter adapted to {@code (Object) -> Object}. */
+  private record Accessor(MethodHandle getter, String prefix) {}
+
+  /** Fallback when no builder was generated by {@code core-search-processor}. */
+  private record ReflectiveBuilder(Accessor[] accessors) implements ISearchStringBuilder<Object> {
+    @Override
+    public String build(Object entity) {
+      StringBuilder combined = new StringBuilder(64);
+      for (Accessor accessor : accessors) {
+        Object value;
+        try {
+          value = accessor.getter().invokeExact(entity);
+        } catch (Throwable e) {
+          continue;
+        }
+        ISearchStringBuilder.append(combined, accessor.prefix(), value);
+      }
+      return combined.toString();
+    }
+  }
+
+  // Builder theo class: ưu tiên class được sinh lúc compile, nếu không có thì plan reflection
+  // (quét field + tạo MethodHandle) chỉ một lần cho mỗi entity class
+  private static final ClassValue<ISearchStringBuilder<Object>> BUILDERS =
+      new ClassValue<>() {
+        @Override
+        protected ISearchStringBuilder<Object> computeValue(Class<?> type) {
+          ISearchStringBuilder<Object> generated = generated(type);
+          return generated != null ? generated : new ReflectiveBuilder(plan(type));
+        }
+      };
+
+  // Field @SearchText (cột lưu search string) của mỗi entity class, nếu có
+  private static final ClassValue<Optional<Field>> SEARCH_TEXT_FIELDS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Field> computeValue(Class<?> type) {
+          return Optional.ofNullable(findSearchTextField(type));
+        }
+      };
+
+  private static final ClassValue<Optional<MethodHandle>> SEARCH_TEXT_SETTERS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+          return SEARCH_TEXT_FIELDS.get(type).map(SearchFieldUtils::setter);
+        }
+      };
+
   private SearchFieldUtils() {
     throw new UnsupportedOperationException("Cannot instantiate utility class");
   }
@@ -15,37 +72,117 @@ public final class SearchFieldUtils {
     if (entity == null) {
       return "";
     }
-    var fields =
-        Arrays.stream(entity.getClass().getDeclaredFields())
-            .filter(field -> field.isAnnotationPresent(SearchableField.class))
-            .toList();
+    String combined = BUILDERS.get(entity.getClass()).build(entity);
+    return DiacriticFolding.foldLowerCase(combined);
+  }
 
-    String combined =
-        fields.stream()
-            .map(field -> getFieldValueAsString(field, entity))
-            .filter(s -> s != null && !s.isBlank())
-            .collect(Collectors.joining("; "));
+  /** The {@link SearchText} field of {@code type} or its superclasses, {@code null} if none. */
+  public static Field searchTextField(Class<?> type) {
+    return type == null ? null : SEARCH_TEXT_FIELDS.get(type).orElse(null);
+  }
 
-    return removeDiacritics(combined).toLowerCase();
+  /**
+   * Stores {@link #buildString} into the {@link SearchText} field of {@code entity}; returns {@code
+   * false} when the entity has no such field.
+   */
+  public static boolean applySearchText(Object entity) {
+    if (entity == null) {
+      return false;
+    }
+    MethodHandle setter = SEARCH_TEXT_SETTERS.get(entity.getClass()).orElse(null);
+    if (setter == null) {
+      return false;
+    }
+    try {
+      setter.invokeExact(entity, (Object) buildString(entity));
+      return true;
+    } catch (Throwable e) {
+      return false;
+    }
+  }
+
+  /** {@code <Entity>SearchStringBuilder} in the entity's package (nested: {@code Outer_Inner}). */
+  @SuppressWarnings("unchecked")
+  private static ISearchStringBuilder<Object> generated(Class<?> type) {
+    String packageName = type.getPackageName();
+    String simpleName =
+        type.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+    String builderName =
+        (packageName.isEmpty() ? "" : packageName + ".")
+            + simpleName.replace('$', '_')
+            + GENERATED_SUFFIX;
+    try {
+      Class<?> builderType = Class.forName(builderName, true, type.getClassLoader());
+      if (!ISearchStringBuilder.class.isAssignableFrom(builderType)) {
+        return null;
+      }
+      return (ISearchStringBuilder<Object>) builderType.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+
+  /**
+   * {@link SearchableField} fields of {@code type} and its superclasses, subclass fields first and
+   * each class in declaration order.
+   */
+  private static Accessor[] plan(Class<?> type) {
+    List<Accessor> accessors = new ArrayList<>();
+    for (Class<?> current = type;
+        current != null && current != Object.class;
+        current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        SearchableField ann = field.getAnnotation(SearchableField.class);
+        if (ann == null || Modifier.isStatic(field.getModifiers())) {
+          continue;
+        }
+        MethodHandle getter = getter(field);
+        if (getter != null) {
+          accessors.add(new Accessor(getter, ann.name().isEmpty() ? null : ann.name() + "="));
+        }
+      }
+    }
+    return accessors.toArray(Accessor[]::new);
+  }
+
+  private static Field findSearchTextField(Class<?> type) {
+    for (Class<?> current = type;
+        current != null && current != Object.class;
+        current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (field.isAnnotationPresent(SearchText.class)
+            && field.getType() == String.class
+            && !Modifier.isStatic(field.getModifiers())) {
+          return field;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static MethodHandle setter(Field field) {
+    try {
+      field.setAccessible(true);
+      return MethodHandles.lookup()
+          .unreflectSetter(field)
+          .asType(MethodType.methodType(void.class, Object.class, Object.class));
+    } catch (IllegalAccessException | RuntimeException e) {
+      return null;
+    }
   }
 
-  private static String getFieldValueAsString(Field field, Object entity) {
-    field.setAccessible(true);
+  private static MethodHandle getter(Field field) {
     try {
-      Object value = field.get(entity);
-      if (value == null) return null;
-      SearchableField ann = field.getAnnotation(SearchableField.class);
-      return (ann.name().isEmpty()) ? value.toString() : ann.name() + "=" + value;
-    } catch (IllegalAccessException e) {
+      field.setAccessible(true);
+      return MethodHandles.lookup()
+          .unreflectGetter(field)
+          .asType(MethodType.methodType(Object.class, Object.class));
+    } catch (IllegalAccessException | RuntimeException e) {
       return null;
     }
   }
 
   public static String removeDiacritics(String input) {
-    if (input == null) return "";
-    return Normalizer.normalize(input, Normalizer.Form.NFD)
-        .replaceAll("\\p{InCombiningDiacriticalMarks}+", "") // regex: cần replaceAll
-        .replace("đ", "d") // literal: dùng replace
-        .replace("Đ", "D"); // literal: dùng replace
+    return DiacriticFolding.fold(input);
   }
 }
@@ -8,6 +8,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.transaction.ReactiveTransactionManager;
@@ -53,4 +54,15 @@ public class AsyncDatabaseSourceConfig {
       ConnectionFactory connectionFactory) {
     return new R2dbcTransactionManager(connectionFactory);
   }
+
+  @Bean
+  public SearchTextCallback searchTextCallback() {
+    return new SearchTextCallback();
+  }
+
+  @Bean
+  public PostgresSearchClient postgresSearchClient(
+      R2dbcEntityTemplate r2dbcEntityTemplate, ConnectionFactory writeConnectionFactory) {
+    return new PostgresSearchClient(r2dbcEntityTemplate, writeConnectionFactory);
+  }
 }
@@ -0,0 +1,96 @@
+package com.core.asyncDatabaseConfig;
+
+import com.example.core.search.PostgresSearchQuery;
+import com.example.core.search.PostgresSearchTable;
+import com.example.core.utils.SearchFieldUtils;
+import io.r2dbc.spi.ConnectionFactory;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code PostgresSearchSupport}: ranked full-text/trigram search for R2DBC
+ * entities with a {@code @SearchText} column, using the same SQL ({@link PostgresSearchTable}).
+ *
+ * <p>Searches run outside a transaction, i.e. on the reader connection factory; {@link
+ * #createSchema} runs directly on the writer connection factory in autocommit mode, since {@code
+ * CREATE INDEX CONCURRENTLY} cannot run inside a transaction.
+ */
+public class PostgresSearchClient {
+  private final R2dbcEntityTemplate template;
+  private final DatabaseClient writer;
+  private final Map<Class<?>, PostgresSearchTable> tables = new ConcurrentHashMap<>();
+
+  public PostgresSearchClient(
+      R2dbcEntityTemplate template, ConnectionFactory writeConnectionFactory) {
+    this.template = template;
+    this.writer = DatabaseClient.create(writeConnectionFactory);
+  }
+
+  /** Runs {@link PostgresSearchTable#ddl()} of {@code entityType} (e.g. once at startup). */
+  public Mono<Void> createSchema(Class<?> entityType) {
+    return Flux.fromIterable(table(entityType).ddl())
+        .concatMap(sql -> writer.sql(sql).then())
+        .then();
+  }
+
+  /** Search table of {@code entityType}; fails when the entity has no {@code @SearchText}. */
+  public PostgresSearchTable table(Class<?> entityType) {
+    return tables.computeIfAbsent(entityType, this::resolve);
+  }
+
+  public <T> Flux<T> search(
+      Class<T> entityType, String keyword, PostgresSearchQuery.Match match, Pageable pageable) {
+    return search(entityType, PostgresSearchQuery.of(keyword, match, pageable));
+  }
+
+  /** Entities matching {@code query}, best ranked first. */
+  public <T> Flux<T> search(Class<T> entityType, PostgresSearchQuery query) {
+    PostgresSearchTable table = table(entityType);
+    return template
+        .getDatabaseClient()
+        .sql(table.selectSql("*", query))
+        .bindValues(query.parameters())
+        .map((row, metadata) -> template.getConverter().read(entityType, row, metadata))
+        .all();
+  }
+
+  public Mono<Long> count(Class<?> entityType, String keyword, PostgresSearchQuery.Match match) {
+    return count(entityType, PostgresSearchQuery.of(keyword, match, Pageable.unpaged()));
+  }
+
+  public Mono<Long> count(Class<?> entityType, PostgresSearchQuery query) {
+    PostgresSearchTable table = table(entityType);
+    return template
+        .getDatabaseClient()
+        .sql(table.countSql(query))
+        .bindValues(query.conditionParameters())
+        .map(row -> row.get(0, Long.class))
+        .one();
+  }
+
+  private PostgresSearchTable resolve(Class<?> entityType) {
+    Field searchText = SearchFieldUtils.searchTextField(entityType);
+    if (searchText == null) {
+      throw new IllegalArgumentException(entityType.getName() + " has no @SearchText field");
+    }
+    RelationalPersistentEntity<?> entity =
+        template.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+    IdentifierProcessing identifiers = PostgresDialect.INSTANCE.getIdentifierProcessing();
+    return new PostgresSearchTable(
+        entity.getQualifiedTableName().toSql(identifiers),
+        entity.getRequiredIdProperty().getColumnName().toSql(identifiers),
+        entity
+            .getRequiredPersistentProperty(searchText.getName())
+            .getColumnName()
+            .toSql(identifiers));
+  }
+}
@@ -0,0 +1,19 @@
+package com.core.asyncDatabaseConfig;
+
+import com.example.core.utils.SearchFieldUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Refreshes the {@code @SearchText} column before R2DBC writes an entity (no JPA listener here).
+ */
+public class SearchTextCallback implements BeforeConvertCallback<Object> {
+
+  @Override
+  public Publisher<Object> onBeforeConvert(Object entity, SqlIdentifier table) {
+    SearchFieldUtils.applySearchText(entity);
+    return Mono.just(entity);
+  }
+}
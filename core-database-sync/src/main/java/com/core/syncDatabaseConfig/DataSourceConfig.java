@@ -1,14 +1,21 @@
 package com.core.syncDatabaseConfig;
 
 import com.example.core.database.DatabaseProperties;
+import com.example.core.search.SearchIndexRegistry;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 
@@ -55,4 +62,58 @@ public class DataSourceConfig {
     public RoutingDataSourceInterceptor routingDataSourceInterceptor() {
         return new RoutingDataSourceInterceptor();
     }
+
+    @Bean
+    public StreamingQuerySupport streamingQuerySupport(
+            EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        return new StreamingQuerySupport(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory), transactionManager);
+    }
+
+    @Bean
+    public PagedQuerySupport pagedQuerySupport(
+            EntityManagerFactory entityManagerFactory,
+            PlatformTransactionManager transactionManager,
+            @Value("${core.pagination.count-cache-ttl-seconds:60}") long countCacheTtlSeconds,
+            @Value("${core.pagination.count-cache-size:10000}") long countCacheSize) {
+        return new PagedQuerySupport(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                entityManagerFactory,
+                transactionManager,
+                Duration.ofSeconds(countCacheTtlSeconds),
+                countCacheSize);
+    }
+
+    @Bean
+    public SortPlanner sortPlanner(
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            @Value("${core.pagination.sort-mode:REWRITE}") SortPlanner.Mode sortMode) {
+        return new SortPlanner(entityManagerFactory, dataSource, sortMode);
+    }
+
+    @Bean
+    public PostgresSearchSupport postgresSearchSupport(
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            @Value("${core.search.postgres.create-schema:false}") boolean createSchema) {
+        return new PostgresSearchSupport(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                entityManagerFactory,
+                dataSource,
+                createSchema);
+    }
+
+    // Chỉ load index khi core-common bật core.search.index.enable (có bean SearchIndexRegistry)
+    @Bean
+    public SearchIndexLoader searchIndexLoader(
+            EntityManagerFactory entityManagerFactory,
+            StreamingQuerySupport streamingQuerySupport,
+            ObjectProvider<SearchIndexRegistry> searchIndexRegistry) {
+        return new SearchIndexLoader(
+                entityManagerFactory,
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                streamingQuerySupport,
+                searchIndexRegistry.getIfAvailable());
+    }
 }
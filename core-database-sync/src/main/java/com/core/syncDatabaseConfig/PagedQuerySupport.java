@@ -0,0 +1,195 @@
+package com.core.syncDatabaseConfig;
+
+import com.example.core.common.models.PageRequestCustom;
+import com.example.core.common.models.PageResponse;
+import com.example.core.common.models.TotalMode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds {@link PageResponse}s according to {@link PageRequestCustom#totalMode()}.
+ *
+ * <p>The page query should return a {@link Slice} (Spring Data then fetches {@code size + 1} rows
+ * and never counts); the count query is only run when the mode needs it:
+ *
+ * <pre>{@code
+ * Slice<User> findByStatus(Status status, Pageable pageable);
+ * long countByStatus(Status status);
+ *
+ * pagedQuerySupport.page(request, User.class, "users:" + status,
+ *     pageable -> userRepository.findByStatus(status, pageable),
+ *     () -> userRepository.countByStatus(status));
+ * }</pre>
+ *
+ * <p>{@link TotalMode#ESTIMATED} reads {@code pg_class.reltuples} of the entity table, so it is
+ * meant for unfiltered listings; when statistics are missing (or the database is not PostgreSQL) it
+ * falls back to the exact count. The estimate runs in its own read-only transaction ({@code
+ * REQUIRES_NEW}), so a failure there can never mark the caller's transaction rollback-only, and is
+ * not attempted at all on other databases.
+ */
+@Slf4j
+public class PagedQuerySupport {
+  private static final String ESTIMATE_SQL =
+      "select cast(reltuples as bigint) from pg_class where oid = to_regclass(:table)";
+
+  private final EntityManager entityManager;
+  private final EntityManagerFactory entityManagerFactory;
+  private final TransactionTemplate estimateTransaction;
+  private final Cache<String, Long> countCache;
+  private volatile Boolean postgres;
+  private final Map<Class<?>, String> tableNames = new ConcurrentHashMap<>();
+
+  public PagedQuerySupport(
+      EntityManager entityManager,
+      EntityManagerFactory entityManagerFactory,
+      PlatformTransactionManager transactionManager,
+      Duration countCacheTtl,
+      long countCacheSize) {
+    this.entityManager = entityManager;
+    this.entityManagerFactory = entityManagerFactory;
+    this.estimateTransaction = new TransactionTemplate(transactionManager);
+    this.estimateTransaction.setReadOnly(true);
+    this.estimateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.countCache =
+        Caffeine.newBuilder().expireAfterWrite(countCacheTtl).maximumSize(countCacheSize).build();
+  }
+
+  /**
+   * @param entityType entity of the listed table, used by {@link TotalMode#ESTIMATED}
+   * @param countKey identifies the count query and its filter values, used by {@link
+   *     TotalMode#CACHED}
+   */
+  public <T> PageResponse<T> page(
+      PageRequestCustom request,
+      Class<?> entityType,
+      String countKey,
+      Function<Pageable, ? extends Slice<T>> pageQuery,
+      LongSupplier countQuery) {
+    PageRequest pageable = request.pageRequest();
+    Slice<T> slice = pageQuery.apply(pageable);
+    List<T> content = slice.getContent();
+    long seen = pageable.getOffset() + content.size();
+
+    // Trang cuối (có dữ liệu): đã biết chính xác tổng mà không cần COUNT
+    boolean lastPage = !slice.hasNext() && (pageable.getOffset() == 0 || !content.isEmpty());
+
+    TotalMode mode = request.totalMode();
+    Long total =
+        switch (mode) {
+          case NONE -> null;
+          case EXACT -> exactTotal(slice, lastPage, seen, countQuery);
+          case CACHED -> cachedTotal(countKey, slice, lastPage, seen, countQuery);
+          case ESTIMATED -> estimatedTotal(entityType, slice, lastPage, seen, countQuery);
+        };
+    return new PageResponse<>(
+        content, true, total, request.currentPage(), pageable.getPageSize(), slice.hasNext(), mode);
+  }
+
+  public void evictCount(String countKey) {
+    countCache.invalidate(countKey);
+  }
+
+  private static long exactTotal(
+      Slice<?> slice, boolean lastPage, long seen, LongSupplier countQuery) {
+    if (slice instanceof Page<?> page) {
+      return page.getTotalElements();
+    }
+    return lastPage ? seen : countQuery.getAsLong();
+  }
+
+  private long cachedTotal(
+      String countKey, Slice<?> slice, boolean lastPage, long seen, LongSupplier countQuery) {
+    if (lastPage || countKey == null) {
+      return exactTotal(slice, lastPage, seen, countQuery);
+    }
+    long total = countCache.get(countKey, key -> exactTotal(slice, false, seen, countQuery));
+    // Số liệu cache có thể cũ: không trả về total nhỏ hơn số dòng đã thấy
+    return slice.hasNext() ? Math.max(total, seen + 1) : Math.max(total, seen);
+  }
+
+  private long estimatedTotal(
+      Class<?> entityType, Slice<?> slice, boolean lastPage, long seen, LongSupplier countQuery) {
+    if (lastPage) {
+      return seen;
+    }
+    long estimate = estimate(entityType);
+    if (estimate < 0) {
+      return exactTotal(slice, false, seen, countQuery);
+    }
+    return slice.hasNext() ? Math.max(estimate, seen + 1) : Math.max(estimate, seen);
+  }
+
+  /** Planner row estimate of the entity table, or -1 if unavailable. */
+  long estimate(Class<?> entityType) {
+    String table = entityType == null || !isPostgres() ? null : tableName(entityType);
+    if (table == null) {
+      return -1;
+    }
+    try {
+      // Transaction riêng: query lỗi không làm transaction của caller bị rollback-only
+      Object result =
+          estimateTransaction.execute(
+              status ->
+                  entityManager
+                      .createNativeQuery(ESTIMATE_SQL)
+                      .setParameter("table", table)
+                      .getSingleResult());
+      // reltuples = -1 khi bảng chưa được ANALYZE
+      return result instanceof Number number ? number.longValue() : -1;
+    } catch (PersistenceException | TransactionException e) {
+      log.debug("Could not read row estimate of {}", table, e);
+      return -1;
+    }
+  }
+
+  private boolean isPostgres() {
+    Boolean cached = postgres;
+    if (cached == null) {
+      cached =
+          entityManagerFactory
+                  .unwrap(SessionFactoryImplementor.class)
+                  .getJdbcServices()
+                  .getDialect()
+              instanceof PostgreSQLDialect;
+      postgres = cached;
+    }
+    return cached;
+  }
+
+  private String tableName(Class<?> entityType) {
+    return tableNames.computeIfAbsent(
+        entityType,
+        type -> {
+          EntityPersister persister =
+              entityManagerFactory
+                  .unwrap(SessionFactoryImplementor.class)
+                  .getMappingMetamodel()
+                  .getEntityDescriptor(type);
+          return persister instanceof AbstractEntityPersister entityPersister
+              ? entityPersister.getTableName()
+              : null;
+        });
+  }
+}
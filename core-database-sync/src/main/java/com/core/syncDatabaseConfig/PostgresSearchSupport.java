@@ -0,0 +1,150 @@
+package com.core.syncDatabaseConfig;
+
+import com.example.core.search.PostgresSearchQuery;
+import com.example.core.search.PostgresSearchTable;
+import com.example.core.utils.SearchFieldUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Postgres full-text/trigram search for JPA entities with a {@code @SearchText} column.
+ *
+ * <p>The table, id and search columns come from the Hibernate metamodel. With {@code
+ * core.search.postgres.create-schema=true} the generated {@code tsvector} column and GIN indexes of
+ * every such entity are created at startup on the writer pool ({@link PostgresSearchTable#ddl()},
+ * in autocommit mode); otherwise add the same statements to the migration scripts. Adding the
+ * vector column rewrites the table under an exclusive lock, so on large tables prefer a migration
+ * run in a maintenance window.
+ *
+ * <pre>{@code
+ * @Transactional(readOnly = true)
+ * public List<User> search(String keyword, Pageable pageable) {
+ *   return postgresSearchSupport.search(User.class, keyword, Match.SUBSTRING, pageable);
+ * }
+ * }</pre>
+ *
+ * <p>Entities are loaded with a native {@code SELECT t.*}, so the entity has to be mapped to a
+ * single table.
+ */
+@Slf4j
+public class PostgresSearchSupport implements SmartInitializingSingleton {
+  private final EntityManager entityManager;
+  private final EntityManagerFactory entityManagerFactory;
+  private final DataSource dataSource;
+  private final boolean createSchema;
+  private final Map<Class<?>, PostgresSearchTable> tables = new ConcurrentHashMap<>();
+
+  public PostgresSearchSupport(
+      EntityManager entityManager,
+      EntityManagerFactory entityManagerFactory,
+      DataSource dataSource,
+      boolean createSchema) {
+    this.entityManager = entityManager;
+    this.entityManagerFactory = entityManagerFactory;
+    this.dataSource = dataSource;
+    this.createSchema = createSchema;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (!createSchema) {
+      return;
+    }
+    entityManagerFactory
+        .unwrap(SessionFactoryImplementor.class)
+        .getMappingMetamodel()
+        .forEachEntityDescriptor(
+            persister -> {
+              if (SearchFieldUtils.searchTextField(persister.getMappedClass()) != null) {
+                createSchema(persister.getMappedClass());
+              }
+            });
+  }
+
+  /** Runs {@link PostgresSearchTable#ddl()} of {@code entityType} on the writer pool. */
+  public void createSchema(Class<?> entityType) {
+    PostgresSearchTable table = table(entityType);
+    try {
+      RoutingDataSource.switchToWrite();
+      try (Connection connection = dataSource.getConnection();
+          Statement statement = connection.createStatement()) {
+        // CREATE INDEX CONCURRENTLY không chạy được trong transaction
+        connection.setAutoCommit(true);
+        for (String ddl : table.ddl()) {
+          statement.execute(ddl);
+        }
+      }
+      log.info("Search columns and indexes of {} are ready", table.table());
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not create search indexes of " + table.table(), e);
+    } finally {
+      RoutingDataSource.clear();
+    }
+  }
+
+  /** Search table of {@code entityType}; fails when the entity has no {@code @SearchText}. */
+  public PostgresSearchTable table(Class<?> entityType) {
+    return tables.computeIfAbsent(entityType, this::resolve);
+  }
+
+  public <T> List<T> search(
+      Class<T> entityType, String keyword, PostgresSearchQuery.Match match, Pageable pageable) {
+    return search(entityType, PostgresSearchQuery.of(keyword, match, pageable));
+  }
+
+  /** Entities matching {@code query}, best ranked first. */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> search(Class<T> entityType, PostgresSearchQuery query) {
+    PostgresSearchTable table = table(entityType);
+    Query nativeQuery = entityManager.createNativeQuery(table.selectSql("*", query), entityType);
+    query.parameters().forEach(nativeQuery::setParameter);
+    return nativeQuery.getResultList();
+  }
+
+  public long count(Class<?> entityType, String keyword, PostgresSearchQuery.Match match) {
+    return count(entityType, PostgresSearchQuery.of(keyword, match, Pageable.unpaged()));
+  }
+
+  public long count(Class<?> entityType, PostgresSearchQuery query) {
+    PostgresSearchTable table = table(entityType);
+    Query nativeQuery = entityManager.createNativeQuery(table.countSql(query));
+    query.conditionParameters().forEach(nativeQuery::setParameter);
+    return ((Number) nativeQuery.getSingleResult()).longValue();
+  }
+
+  private PostgresSearchTable resolve(Class<?> entityType) {
+    Field searchText = SearchFieldUtils.searchTextField(entityType);
+    if (searchText == null) {
+      throw new IllegalArgumentException(entityType.getName() + " has no @SearchText field");
+    }
+    EntityPersister persister =
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(entityType);
+    if (!(persister instanceof AbstractEntityPersister entityPersister)
+        || entityPersister.getIdentifierColumnNames().length != 1) {
+      throw new IllegalArgumentException(entityType.getName() + " needs a single-column id");
+    }
+    String[] textColumns = entityPersister.getPropertyColumnNames(searchText.getName());
+    return new PostgresSearchTable(
+        entityPersister.getTableName(),
+        entityPersister.getIdentifierColumnNames()[0],
+        textColumns[0]);
+  }
+}
@@ -0,0 +1,119 @@
+package com.core.syncDatabaseConfig;
+
+import com.example.core.search.SearchIndexRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Loads the in-memory search index of every {@code @SearchIndexed} entity after startup.
+ *
+ * <p>Entities are streamed from the reader pool through {@link StreamingQuerySupport} on a small
+ * background pool ({@code core.search.index.rebuild-parallelism} entities at a time), so startup is
+ * not blocked; until an index is loaded its searches return {@code null} and callers query the
+ * database. Does nothing when {@code core.search.index.enable} is off.
+ */
+@Slf4j
+public class SearchIndexLoader implements SmartInitializingSingleton, DisposableBean {
+  private final EntityManagerFactory entityManagerFactory;
+  private final EntityManager entityManager;
+  private final StreamingQuerySupport streamingQuerySupport;
+  private final SearchIndexRegistry registry;
+  private final int parallelism;
+  private ExecutorService executor;
+
+  public SearchIndexLoader(
+      EntityManagerFactory entityManagerFactory,
+      EntityManager entityManager,
+      StreamingQuerySupport streamingQuerySupport,
+      SearchIndexRegistry registry) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.entityManager = entityManager;
+    this.streamingQuerySupport = streamingQuerySupport;
+    this.registry = registry;
+    this.parallelism =
+        registry == null ? 1 : Math.max(1, registry.getProperties().getRebuildParallelism());
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (registry == null) {
+      return;
+    }
+    List<Class<?>> types = indexedTypes();
+    if (!types.isEmpty()) {
+      log.info("Loading search indexes of {}", types);
+      rebuildAll(types);
+    }
+  }
+
+  /** Rebuilds the indexes of {@code types} in the background; the future completes when done. */
+  public synchronized CompletableFuture<Void> rebuildAll(List<Class<?>> types) {
+    if (executor == null) {
+      AtomicInteger threads = new AtomicInteger();
+      executor =
+          Executors.newFixedThreadPool(
+              parallelism,
+              task -> {
+                Thread thread = new Thread(task, "search-index-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return CompletableFuture.allOf(
+        types.stream()
+            .map(type -> CompletableFuture.runAsync(() -> rebuildLogged(type), executor))
+            .toArray(CompletableFuture[]::new));
+  }
+
+  /** Reloads the index of {@code type} on the calling thread. */
+  public <T> void rebuild(Class<T> type) {
+    registry.rebuild(type, action -> streamingQuerySupport.forEach(() -> streamAll(type), action));
+  }
+
+  private void rebuildLogged(Class<?> type) {
+    try {
+      rebuild(type);
+    } catch (RuntimeException e) {
+      // Index không load được: tìm kiếm tiếp tục đi qua DB
+      log.warn("Could not load search index of {}", type.getName(), e);
+    }
+  }
+
+  private <T> Stream<T> streamAll(Class<T> type) {
+    CriteriaQuery<T> query = entityManager.getCriteriaBuilder().createQuery(type);
+    query.select(query.from(type));
+    return StreamingQuerySupport.streaming(entityManager.createQuery(query)).getResultStream();
+  }
+
+  /** Entity classes carrying {@code @SearchIndexed} themselves (subclasses share their index). */
+  private List<Class<?>> indexedTypes() {
+    Set<Class<?>> types = new LinkedHashSet<>();
+    for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+      Class<?> type = entity.getJavaType();
+      if (type != null && type.equals(registry.indexedType(type))) {
+        types.add(type);
+      }
+    }
+    return List.copyOf(types);
+  }
+
+  @Override
+  public synchronized void destroy() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+}
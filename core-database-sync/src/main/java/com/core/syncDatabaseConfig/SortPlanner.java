@@ -0,0 +1,294 @@
+package com.core.syncDatabaseConfig;
+
+import com.example.core.common.constants.CoreErrorCodes;
+import com.example.core.common.exceptions.ApplicationException;
+import com.example.core.common.models.SortHandleCustom;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Checks client sorts against the indexes of each entity table, so a request cannot force a full
+ * sort of a large table.
+ *
+ * <p>At startup the index definitions of every entity table are read from {@link
+ * DatabaseMetaData#getIndexInfo}. A sort is index-backed when its columns are a prefix of an index
+ * with the same (or fully reversed) directions; a trailing id tiebreaker is also accepted. Other
+ * sorts are either rejected (400) or rewritten to their longest index-backed prefix, depending on
+ * {@code core.pagination.sort-mode}. The server's own default sort ({@code createdAt} descending)
+ * is never rejected: without a matching index it is rewritten like in {@link Mode#REWRITE}. Planned
+ * sorts are cached per entity and sorter string.
+ *
+ * <p>Only ordered (B-tree) indexes are considered; GIN/GiST/hash indexes report no {@code
+ * ASC_OR_DESC} and are skipped, and an index is only used up to its first expression column.
+ */
+@Slf4j
+public class SortPlanner implements SmartInitializingSingleton {
+  private static final int MAX_CACHED_PLANS = 4096;
+  // Một cột index dùng được cho ORDER BY theo thuộc tính: chỉ là tên cột, không phải biểu thức
+  private static final Pattern PLAIN_COLUMN = Pattern.compile("\"?[A-Za-z_][A-Za-z0-9_$]*\"?");
+
+  public enum Mode {
+    /** Throw a 400 {@link ApplicationException} for sorts that are not index-backed. */
+    REJECT,
+    /** Keep the longest index-backed prefix, or fall back to the primary key. */
+    REWRITE
+  }
+
+  /** Sortable properties and indexes of one entity. */
+  private record EntityIndexes(
+      String idProperty, Map<String, String> columns, List<List<IndexColumn>> indexes) {}
+
+  private record IndexColumn(String column, boolean descending) {}
+
+  private record PlanKey(Class<?> entityType, String sorter) {}
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final DataSource dataSource;
+  private final Mode mode;
+  private final Map<Class<?>, EntityIndexes> entities = new ConcurrentHashMap<>();
+  private final Map<PlanKey, Sort> plans = new ConcurrentHashMap<>();
+
+  public SortPlanner(EntityManagerFactory entityManagerFactory, DataSource dataSource, Mode mode) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.dataSource = dataSource;
+    this.mode = mode;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    try {
+      metamodel().forEachEntityDescriptor(persister -> entityIndexes(persister.getMappedClass()));
+      log.info("SortPlanner loaded indexes of {} entities", entities.size());
+    } catch (RuntimeException e) {
+      // DB chưa sẵn sàng: sẽ load lại khi có request đầu tiên
+      log.warn("SortPlanner could not load indexes at startup", e);
+    }
+  }
+
+  /** Parses {@code sorter} (see {@link SortHandleCustom#from}) and plans it for {@code entity}. */
+  public Sort plan(Class<?> entityType, String sorter) {
+    String key = sorter == null ? "" : sorter;
+    Sort cached = plans.get(new PlanKey(entityType, key));
+    if (cached != null) {
+      return cached;
+    }
+    Sort planned = plan(entityType, SortHandleCustom.from(sorter));
+    if (plans.size() < MAX_CACHED_PLANS) {
+      plans.putIfAbsent(new PlanKey(entityType, key), planned);
+    }
+    return planned;
+  }
+
+  public Sort plan(Class<?> entityType, Sort sort) {
+    EntityIndexes indexes = entityIndexes(entityType);
+    int backed = indexedPrefix(indexes, sort);
+    List<Sort.Order> orders = sort.toList();
+    if (backed == orders.size()) {
+      return sort;
+    }
+    // Sort mặc định do server chọn, client không yêu cầu -> không trả 400
+    if (mode == Mode.REJECT && !SortHandleCustom.isDefault(sort)) {
+      throw new ApplicationException(
+          CoreErrorCodes.REQUEST_INVALID,
+          "Sort is not supported: " + orders.get(backed).getProperty(),
+          HttpStatus.BAD_REQUEST);
+    }
+    if (backed > 0) {
+      return Sort.by(orders.subList(0, backed));
+    }
+    Sort.Direction direction =
+        orders.isEmpty() ? Sort.Direction.DESC : orders.get(0).getDirection();
+    return indexes.idProperty() == null
+        ? Sort.unsorted()
+        : Sort.by(direction, indexes.idProperty());
+  }
+
+  public boolean isIndexed(Class<?> entityType, Sort sort) {
+    return indexedPrefix(entityIndexes(entityType), sort) == sort.toList().size();
+  }
+
+  /** Number of leading orders of {@code sort} that an index can serve. */
+  private static int indexedPrefix(EntityIndexes indexes, Sort sort) {
+    List<Sort.Order> orders = sort.toList();
+    List<IndexColumn> wanted = new ArrayList<>(orders.size());
+    for (Sort.Order order : orders) {
+      String column = indexes.columns().get(order.getProperty());
+      if (column == null) {
+        break;
+      }
+      wanted.add(new IndexColumn(column, order.isDescending()));
+    }
+
+    int best = 0;
+    for (List<IndexColumn> index : indexes.indexes()) {
+      best = Math.max(best, matchingPrefix(index, wanted));
+    }
+    // Tiebreaker id ở cuối (vd. cursor pagination): incremental sort trên khoá duy nhất là rẻ
+    if (best > 0
+        && best == orders.size() - 1
+        && orders.get(best).getProperty().equals(indexes.idProperty())) {
+      best++;
+    }
+    return best;
+  }
+
+  private static int matchingPrefix(List<IndexColumn> index, List<IndexColumn> wanted) {
+    int length = Math.min(index.size(), wanted.size());
+    if (length == 0) {
+      return 0;
+    }
+    // Index B-tree có thể quét ngược: chấp nhận cùng chiều hoặc đảo toàn bộ
+    boolean reversed = index.get(0).descending() != wanted.get(0).descending();
+    int matched = 0;
+    while (matched < length
+        && index.get(matched).column().equals(wanted.get(matched).column())
+        && (index.get(matched).descending() != wanted.get(matched).descending()) == reversed) {
+      matched++;
+    }
+    return matched;
+  }
+
+  private EntityIndexes entityIndexes(Class<?> entityType) {
+    EntityIndexes loaded = entities.get(entityType);
+    if (loaded != null) {
+      return loaded;
+    }
+    EntityIndexes indexes = load(entityType);
+    entities.putIfAbsent(entityType, indexes);
+    return indexes;
+  }
+
+  private MappingMetamodel metamodel() {
+    return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+  }
+
+  private EntityIndexes load(Class<?> entityType) {
+    EntityPersister persister = metamodel().getEntityDescriptor(entityType);
+    if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+      return new EntityIndexes(null, Map.of(), List.of());
+    }
+
+    Map<String, String> columns = new HashMap<>();
+    String idProperty = entityPersister.getIdentifierPropertyName();
+    String[] idColumns = entityPersister.getIdentifierColumnNames();
+    if (idProperty != null && idColumns.length == 1) {
+      columns.put(idProperty, normalize(idColumns[0]));
+    }
+    for (String property : entityPersister.getPropertyNames()) {
+      String[] propertyColumns = entityPersister.getPropertyColumnNames(property);
+      if (propertyColumns != null && propertyColumns.length == 1 && propertyColumns[0] != null) {
+        columns.put(property, normalize(propertyColumns[0]));
+      }
+    }
+
+    List<List<IndexColumn>> indexes = readIndexes(entityPersister.getTableName());
+    return new EntityIndexes(idProperty, Map.copyOf(columns), indexes);
+  }
+
+  private List<List<IndexColumn>> readIndexes(String qualifiedTable) {
+    String schema = null;
+    String table = qualifiedTable;
+    int dot = qualifiedTable.lastIndexOf('.');
+    if (dot >= 0) {
+      schema = unquote(qualifiedTable.substring(0, dot));
+      table = qualifiedTable.substring(dot + 1);
+    }
+    table = unquote(table);
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      List<List<IndexColumn>> indexes = readIndexes(metaData, schema, table);
+      if (indexes.isEmpty() && !table.equals(table.toLowerCase(Locale.ROOT))) {
+        // PostgreSQL lưu tên không quote ở dạng chữ thường
+        indexes =
+            readIndexes(
+                metaData,
+                schema == null ? null : schema.toLowerCase(Locale.ROOT),
+                table.toLowerCase(Locale.ROOT));
+      }
+      return indexes;
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not read indexes of " + qualifiedTable, e);
+    }
+  }
+
+  private static List<List<IndexColumn>> readIndexes(
+      DatabaseMetaData metaData, String schema, String table) throws SQLException {
+    Map<String, TreeMap<Short, IndexColumn>> byName = new HashMap<>();
+    Set<String> unordered = new HashSet<>();
+    try (ResultSet rs = metaData.getIndexInfo(null, schema, table, false, true)) {
+      while (rs.next()) {
+        String indexName = rs.getString("INDEX_NAME");
+        // Bỏ qua thống kê bảng và partial index (không dùng được cho mọi truy vấn)
+        if (indexName == null
+            || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic
+            || rs.getString("FILTER_CONDITION") != null) {
+          continue;
+        }
+        String direction = rs.getString("ASC_OR_DESC");
+        if (direction == null) {
+          // Index không có thứ tự (GIN, GiST, hash...) không phục vụ được ORDER BY
+          unordered.add(indexName);
+          continue;
+        }
+        String column = rs.getString("COLUMN_NAME");
+        IndexColumn indexColumn =
+            column == null || !PLAIN_COLUMN.matcher(column.trim()).matches()
+                ? new IndexColumn(null, false)
+                : new IndexColumn(normalize(column), "D".equalsIgnoreCase(direction));
+        byName
+            .computeIfAbsent(indexName, name -> new TreeMap<>())
+            .put(rs.getShort("ORDINAL_POSITION"), indexColumn);
+      }
+    }
+    List<List<IndexColumn>> indexes = new ArrayList<>();
+    byName.forEach(
+        (indexName, columns) -> {
+          if (unordered.contains(indexName)) {
+            return;
+          }
+          // Chỉ dùng phần đầu của index tới cột biểu thức đầu tiên
+          List<IndexColumn> usable =
+              columns.values().stream().takeWhile(column -> column.column() != null).toList();
+          if (!usable.isEmpty()) {
+            indexes.add(usable);
+          }
+        });
+    return indexes;
+  }
+
+  private static String unquote(String identifier) {
+    String trimmed = identifier.trim();
+    if (trimmed.length() > 1
+        && (trimmed.charAt(0) == '"' || trimmed.charAt(0) == '`')
+        && trimmed.charAt(trimmed.length() - 1) == trimmed.charAt(0)) {
+      return trimmed.substring(1, trimmed.length() - 1);
+    }
+    return trimmed;
+  }
+
+  private static String normalize(String column) {
+    return unquote(column).toLowerCase(Locale.ROOT);
+  }
+}
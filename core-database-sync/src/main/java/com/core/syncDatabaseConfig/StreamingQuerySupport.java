@@ -0,0 +1,99 @@
+package com.core.syncDatabaseConfig;
+
+import com.example.core.common.models.StreamResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs JPA {@link Stream} queries inside a read-only transaction on the reader pool, detaching each
+ * entity once it has been consumed so the persistence context does not grow with the result.
+ *
+ * <p>Repository stream methods should carry a fetch-size hint, otherwise the PostgreSQL driver
+ * still buffers the whole result:
+ *
+ * <pre>{@code
+ * @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+ * @Query("select u from User u")
+ * Stream<User> streamAll();
+ * }</pre>
+ */
+public class StreamingQuerySupport {
+  public static final int DEFAULT_FETCH_SIZE = 500;
+
+  private final EntityManager entityManager;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public StreamingQuerySupport(
+      EntityManager entityManager, PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+  }
+
+  /** Adds streaming hints (fetch size, read-only entities) to a hand-built query. */
+  public static <Q extends Query> Q streaming(Q query, int fetchSize) {
+    query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+    query.setHint(HibernateHints.HINT_READ_ONLY, true);
+    return query;
+  }
+
+  public static <Q extends Query> Q streaming(Q query) {
+    return streaming(query, DEFAULT_FETCH_SIZE);
+  }
+
+  /** Row source for {@link StreamResponse}; the query runs when the response body is written. */
+  public <T> StreamResponse.RowSource<T> rows(Supplier<Stream<T>> query) {
+    return action -> forEach(query, action);
+  }
+
+  /** Opens {@code query} in a read-only transaction and feeds every row to {@code action}. */
+  public <T> void forEach(Supplier<Stream<T>> query, Consumer<? super T> action) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      // Đã có transaction bên ngoài -> dùng luôn, không đổi routing của caller
+      readOnlyTransaction.executeWithoutResult(status -> consume(query, action));
+      return;
+    }
+    try {
+      RoutingDataSource.switchToRead();
+      readOnlyTransaction.executeWithoutResult(status -> consume(query, action));
+    } finally {
+      RoutingDataSource.clear();
+    }
+  }
+
+  private <T> void consume(Supplier<Stream<T>> query, Consumer<? super T> action) {
+    try (Stream<T> rows = query.get()) {
+      Iterator<T> iterator = rows.iterator();
+      Boolean detach = null;
+      while (iterator.hasNext()) {
+        T row = iterator.next();
+        action.accept(row);
+        if (detach == null) {
+          detach = isManaged(row);
+        }
+        if (detach) {
+          entityManager.detach(row);
+        }
+      }
+    }
+  }
+
+  private boolean isManaged(Object row) {
+    try {
+      return row != null && entityManager.contains(row);
+    } catch (IllegalArgumentException e) {
+      // Projection/DTO, không phải entity
+      return false;
+    }
+  }
+}
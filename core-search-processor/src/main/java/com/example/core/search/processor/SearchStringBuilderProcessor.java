@@ -0,0 +1,352 @@
+package com.example.core.search.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@code <Entity>SearchStringBuilder} implementing {@code ISearchStringBuilder<Entity>}
+ * for every concrete class that has {@code @SearchableField} fields (declared or inherited).
+ *
+ * <p>The generated code produces the same text as the reflective fallback of {@code
+ * SearchFieldUtils}: fields in the same order (subclass fields first, each class in declaration
+ * order), read directly whenever the field is accessible from the generated class and through its
+ * getter (including Lombok {@code @Getter} / {@code @Data} getters) or record accessor otherwise,
+ * and a value whose read throws is skipped. Classes whose fields cannot be read from the generated
+ * class are skipped with a note, and keep using the reflective fallback at runtime.
+ *
+ * <p>All root types are inspected ({@code "*"}) so entities that only inherit searchable fields
+ * from a superclass in another jar are covered too; the processor never claims annotations.
+ */
+@SupportedAnnotationTypes("*")
+public class SearchStringBuilderProcessor extends AbstractProcessor {
+  static final String SEARCHABLE_FIELD = "com.example.core.common.annotations.SearchableField";
+  static final String BUILDER_INTERFACE = "com.example.core.common.interfaces.ISearchStringBuilder";
+  static final String SUFFIX = "SearchStringBuilder";
+
+  private static final Set<String> LOMBOK_CLASS_GETTERS =
+      Set.of("lombok.Getter", "lombok.Data", "lombok.Value");
+
+  private Elements elements;
+  private Filer filer;
+  private Messager messager;
+  private final Set<String> generated = new HashSet<>();
+
+  /** One searchable field and the Java expression that reads it from {@code entity}. */
+  private record Property(String prefix, String expression) {}
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    this.elements = processingEnv.getElementUtils();
+    this.filer = processingEnv.getFiler();
+    this.messager = processingEnv.getMessager();
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    // Project chưa có core-common trên classpath -> không có gì để sinh
+    if (elements.getTypeElement(SEARCHABLE_FIELD) == null
+        || elements.getTypeElement(BUILDER_INTERFACE) == null) {
+      return false;
+    }
+    for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+      processType(type);
+    }
+    return false;
+  }
+
+  private void processType(TypeElement type) {
+    for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+      processType(nested);
+    }
+    if (!isCandidate(type)) {
+      return;
+    }
+    List<Property> properties = properties(type);
+    if (properties == null || properties.isEmpty()) {
+      return;
+    }
+    String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    String builderName = builderSimpleName(type, packageName);
+    String qualifiedName = packageName.isEmpty() ? builderName : packageName + "." + builderName;
+    if (generated.add(qualifiedName)) {
+      write(type, packageName, builderName, qualifiedName, properties);
+    }
+  }
+
+  private boolean isCandidate(TypeElement type) {
+    if ((type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD)
+        || type.getModifiers().contains(Modifier.ABSTRACT)
+        || !type.getTypeParameters().isEmpty()) {
+      return false;
+    }
+    // Class sinh ra nằm cùng package: không truy cập được class private lồng bên trong
+    for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      if (e.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Searchable properties in SearchFieldUtils order, or {@code null} if one is not readable. */
+  private List<Property> properties(TypeElement type) {
+    PackageElement targetPackage = elements.getPackageOf(type);
+    List<Property> properties = new ArrayList<>();
+    for (TypeElement current = type; current != null; current = superclass(current)) {
+      for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        AnnotationMirror searchable = annotation(field, SEARCHABLE_FIELD);
+        if (searchable == null || field.getModifiers().contains(Modifier.STATIC)) {
+          continue;
+        }
+        String expression = accessor(type, current, field, targetPackage);
+        if (expression == null) {
+          messager.printMessage(
+              Diagnostic.Kind.NOTE,
+              "No accessible field or getter for @SearchableField "
+                  + field.getSimpleName()
+                  + "; "
+                  + type.getQualifiedName()
+                  + " keeps the reflective search string builder",
+              field);
+          return null;
+        }
+        String name = stringValue(searchable, "name");
+        properties.add(new Property(name.isEmpty() ? null : name + "=", expression));
+      }
+    }
+    return properties;
+  }
+
+  private String accessor(
+      TypeElement type, TypeElement declaring, VariableElement field, PackageElement target) {
+    String name = field.getSimpleName().toString();
+    // Đọc field trực tiếp như fallback reflection; chỉ dùng getter khi field không truy cập được
+    if (isAccessible(field, target)) {
+      return "entity." + name;
+    }
+    if (declaring.getKind() == ElementKind.RECORD) {
+      return "entity." + name + "()";
+    }
+    String getter = getterName(field);
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+      if (method.getSimpleName().contentEquals(getter)
+          && method.getParameters().isEmpty()
+          && !method.getModifiers().contains(Modifier.STATIC)
+          && isAccessible(method, target)) {
+        return "entity." + getter + "()";
+      }
+    }
+    if (hasLombokGetter(declaring, field, target)) {
+      // Getter do Lombok sinh trong cùng lần compile, chưa thấy được qua getAllMembers
+      return "entity." + getter + "()";
+    }
+    return null;
+  }
+
+  private boolean hasLombokGetter(
+      TypeElement declaring, VariableElement field, PackageElement target) {
+    AnnotationMirror fieldGetter = annotation(field, "lombok.Getter");
+    if (fieldGetter != null) {
+      return isAccessible(lombokAccess(fieldGetter), declaring, target);
+    }
+    for (AnnotationMirror mirror : declaring.getAnnotationMirrors()) {
+      String annotationName = annotationName(mirror);
+      if (LOMBOK_CLASS_GETTERS.contains(annotationName)) {
+        String access = annotationName.equals("lombok.Getter") ? lombokAccess(mirror) : "PUBLIC";
+        return isAccessible(access, declaring, target);
+      }
+    }
+    return false;
+  }
+
+  private boolean isAccessible(String lombokAccess, TypeElement declaring, PackageElement target) {
+    return switch (lombokAccess) {
+      case "PUBLIC" -> true;
+      case "PACKAGE", "PROTECTED" -> elements.getPackageOf(declaring).equals(target);
+      default -> false;
+    };
+  }
+
+  private boolean isAccessible(Element member, PackageElement target) {
+    Set<Modifier> modifiers = member.getModifiers();
+    if (modifiers.contains(Modifier.PRIVATE)) {
+      return false;
+    }
+    return modifiers.contains(Modifier.PUBLIC) || elements.getPackageOf(member).equals(target);
+  }
+
+  private static String getterName(VariableElement field) {
+    String name = field.getSimpleName().toString();
+    if (field.asType().getKind() == TypeKind.BOOLEAN) {
+      // Quy ước của Lombok: field "isActive" -> getter "isActive()"
+      if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+        return name;
+      }
+      return "is" + capitalize(name);
+    }
+    return "get" + capitalize(name);
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static TypeElement superclass(TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+    return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+  }
+
+  private static AnnotationMirror annotation(Element element, String annotationName) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      if (annotationName(mirror).equals(annotationName)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  private static String annotationName(AnnotationMirror mirror) {
+    return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+  }
+
+  private String stringValue(AnnotationMirror mirror, String attribute) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        elements.getElementValuesWithDefaults(mirror).entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+        return String.valueOf(entry.getValue().getValue());
+      }
+    }
+    return "";
+  }
+
+  private static String lombokAccess(AnnotationMirror getter) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        getter.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals("value")) {
+        // VariableElement của enum AccessLevel
+        return String.valueOf(entry.getValue().getValue());
+      }
+    }
+    return "PUBLIC";
+  }
+
+  private String builderSimpleName(TypeElement type, String packageName) {
+    String binaryName = elements.getBinaryName(type).toString();
+    String simpleName =
+        packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+    return simpleName.replace('$', '_') + SUFFIX;
+  }
+
+  private void write(
+      TypeElement type,
+      String packageName,
+      String builderName,
+      String qualifiedName,
+      List<Property> properties) {
+    String entityType = type.getQualifiedName().toString();
+    StringBuilder source = new StringBuilder(512);
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source
+        .append("@javax.annotation.processing.Generated(\"")
+        .append(SearchStringBuilderProcessor.class.getName())
+        .append("\")\n")
+        .append("public final class ")
+        .append(builderName)
+        .append(" implements ")
+        .append(BUILDER_INTERFACE)
+        .append('<')
+        .append(entityType)
+        .append("> {\n")
+        .append("  @Override\n")
+        .append("  public String build(")
+        .append(entityType)
+        .append(" entity) {\n")
+        .append("    StringBuilder out = new StringBuilder(64);\n")
+        .append("    Object value;\n");
+    for (Property property : properties) {
+      // Giá trị đọc lỗi bị bỏ qua, giống fallback reflection
+      source
+          .append("    try {\n")
+          .append("      value = ")
+          .append(property.expression())
+          .append(";\n")
+          .append("    } catch (Throwable e) {\n")
+          .append("      value = null;\n")
+          .append("    }\n")
+          .append("    ")
+          .append(BUILDER_INTERFACE)
+          .append(".append(out, ")
+          .append(property.prefix() == null ? "null" : literal(property.prefix()))
+          .append(", value);\n");
+    }
+    source.append("    return out.toString();\n").append("  }\n").append("}\n");
+
+    try (Writer writer = filer.createSourceFile(qualifiedName, type).openWriter()) {
+      writer.write(source.toString());
+    } catch (IOException e) {
+      messager.printMessage(
+          Diagnostic.Kind.ERROR, "Could not generate " + qualifiedName + ": " + e, type);
+    }
+  }
+
+  private static String literal(String value) {
+    StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> literal.append("\\\"");
+        case '\\' -> literal.append("\\\\");
+        case '\n' -> literal.append("\\n");
+        case '\r' -> literal.append("\\r");
+        case '\t' -> literal.append("\\t");
+        default -> {
+          if (c < 0x20 || c > 0x7e) {
+            literal.append(String.format("\\u%04x", (int) c));
+          } else {
+            literal.append(c);
+          }
+        }
+      }
+    }
+    return literal.append('"').toString();
+  }
+}